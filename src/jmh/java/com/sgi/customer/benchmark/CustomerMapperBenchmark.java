@@ -0,0 +1,69 @@
+package com.sgi.customer.benchmark;
+
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.infrastructure.dto.CustomerRequest;
+import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link CustomerMapper}, including the UUID generation done when a customer is created.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    private CustomerRequest request;
+    private Customer customer;
+
+    /**
+     * Builds the request and entity mapped by every invocation.
+     */
+    @Setup
+    public void setUp() {
+        request = new CustomerRequest()
+                .name("TEST - customer")
+                .type(CustomerRequest.TypeEnum.PERSONAL)
+                .profile(CustomerRequest.ProfileEnum.VIP)
+                .documentId("82782345")
+                .address("ADDRESS-test")
+                .phoneNumber("5555555555555");
+        customer = CustomerMapper.INSTANCE.created(request);
+    }
+
+    @Benchmark
+    public Customer created() {
+        return CustomerMapper.INSTANCE.created(request);
+    }
+
+    @Benchmark
+    public Customer toCustomer() {
+        return CustomerMapper.INSTANCE.toCustomer(request, customer.getId());
+    }
+
+    @Benchmark
+    public CustomerResponse toCustomerResponse() {
+        return CustomerMapper.INSTANCE.toCustomerResponse(customer);
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.sgi.customer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgi.customer.infrastructure.dto.AccountResponse;
+import com.sgi.customer.infrastructure.dto.CardResponse;
+import com.sgi.customer.infrastructure.dto.CreditResponse;
+import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.SummaryResponse;
+import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Jackson serialization of the customer and summary responses.
+ * The summary is measured with a growing number of products per source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100"})
+    private int productsPerSource;
+
+    private ObjectMapper objectMapper;
+    private CustomerResponse customer;
+    private SummaryResponse summary;
+
+    /**
+     * Builds the object mapper and the responses serialized by every invocation.
+     */
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        String customerId = UUID.randomUUID().toString();
+        customer = new CustomerResponse()
+                .id(customerId)
+                .name("TEST - customer")
+                .type(CustomerResponse.TypeEnum.PERSONAL)
+                .profile(CustomerResponse.ProfileEnum.VIP)
+                .documentId("82782345")
+                .address("ADDRESS-test")
+                .phoneNumber("5555555555555");
+        List<AccountResponse> accounts = new ArrayList<>();
+        List<CardResponse> cards = new ArrayList<>();
+        List<CreditResponse> credits = new ArrayList<>();
+        for (int index = 0; index < productsPerSource; index++) {
+            accounts.add(new AccountResponse()
+                    .id(UUID.randomUUID().toString())
+                    .accountNumber(String.valueOf(index))
+                    .clientId(customerId)
+                    .movementLimit(index)
+                    .createdDate(OffsetDateTime.now()));
+            cards.add(new CardResponse()
+                    .id(UUID.randomUUID().toString())
+                    .clientId(customerId));
+            credits.add(new CreditResponse()
+                    .id(UUID.randomUUID().toString())
+                    .clientId(customerId));
+        }
+        summary = new SummaryResponse(customerId)
+                .status(SummaryResponse.StatusEnum.FOUND)
+                .name(customer.getName())
+                .product(new SummaryResponseProduct()
+                        .accounts(accounts)
+                        .cards(cards)
+                        .credits(credits))
+                .partial(false)
+                .missingSources(List.of());
+    }
+
+    @Benchmark
+    public byte[] customerResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public byte[] summaryResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summary);
+    }
+}
@@ -0,0 +1,55 @@
+package com.sgi.customer.benchmark;
+
+import com.sgi.customer.domain.shared.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Constants#urlParamsComponentBuilder}, called once per downstream request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UrlBuilderBenchmark {
+
+    @Param({"1", "50"})
+    private int clientIds;
+
+    private Map<String, Object> params;
+
+    /**
+     * Builds the query parameters, a single client id or a comma separated group of them.
+     */
+    @Setup
+    public void setUp() {
+        StringBuilder ids = new StringBuilder();
+        for (int index = 0; index < clientIds; index++) {
+            if (index > 0) {
+                ids.append(',');
+            }
+            ids.append(UUID.randomUUID());
+        }
+        params = Map.of(clientIds == 1 ? "clientId" : "clientIds", ids.toString());
+    }
+
+    @Benchmark
+    public String urlParamsComponentBuilder() {
+        return Constants.urlParamsComponentBuilder("http://account-service:8080", "/v1/accounts", params);
+    }
+}
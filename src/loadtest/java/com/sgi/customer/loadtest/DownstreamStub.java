@@ -0,0 +1,80 @@
+package com.sgi.customer.loadtest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * In-process stub of a product service (accounts, cards or credits).
+ * Answers {@code clientId} and {@code clientIds} queries with generated products after a configurable
+ * latency, and fails a configurable fraction of the calls with HTTP 500. The jitter and the failures are drawn
+ * from a generator of the stub's own, so the stubs do not take values from each other's sequence.
+ */
+final class DownstreamStub {
+
+    private final DisposableServer server;
+
+    private DownstreamStub(DisposableServer server) {
+        this.server = server;
+    }
+
+    static DownstreamStub start(String path, LoadTestSettings settings, Random random) {
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get(path, (request, response) -> answer(request, response, settings, random)))
+                .bindNow();
+        return new DownstreamStub(server);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    void stop() {
+        server.disposeNow();
+    }
+
+    private static Mono<Void> answer(HttpServerRequest request, HttpServerResponse response, LoadTestSettings settings,
+                                     Random random) {
+        long jitter = settings.stubJitter().isZero() ? 0 : random.nextLong(settings.stubJitter().toNanos());
+        boolean fail = random.nextDouble() < settings.stubErrorRate();
+        return Mono.delay(settings.stubLatency().plusNanos(jitter))
+                .then(Mono.defer(() -> fail
+                        ? response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR).send().then()
+                        : response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just(products(clientIds(request.uri()), settings.productsPerSource())))
+                        .then()));
+    }
+
+    private static List<String> clientIds(String uri) {
+        Map<String, List<String>> parameters = new QueryStringDecoder(uri).parameters();
+        if (parameters.containsKey("clientIds")) {
+            return List.of(parameters.get("clientIds").get(0).split(","));
+        }
+        return parameters.getOrDefault("clientId", List.of("unknown"));
+    }
+
+    private static String products(List<String> clientIds, int productsPerClient) {
+        StringBuilder json = new StringBuilder("[");
+        for (String clientId : clientIds) {
+            for (int index = 0; index < productsPerClient; index++) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"id\":\"").append(clientId).append('-').append(index)
+                        .append("\",\"clientId\":\"").append(clientId).append("\"}");
+            }
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.sgi.customer.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+/**
+ * Open-model load generator: requests are started at a fixed arrival rate whatever the response times,
+ * and latency is measured from the intended start of each request.
+ */
+final class LoadDriver {
+
+    private final Duration duration;
+    private final int maxInFlight;
+
+    LoadDriver(Duration duration, int maxInFlight) {
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+    }
+
+    Mono<WorkloadResult> run(String name, int rate, LongFunction<Mono<Void>> request) {
+        if (rate <= 0) {
+            return Mono.empty();
+        }
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long scheduled = duration.toNanos() / periodNanos;
+        return Mono.defer(() -> {
+            Histogram histogram = new ConcurrentHistogram(3);
+            AtomicLong errors = new AtomicLong();
+            AtomicLong dropped = new AtomicLong();
+            long start = System.nanoTime();
+            return Flux.interval(Duration.ofNanos(periodNanos))
+                    .take(scheduled)
+                    .onBackpressureDrop(tick -> dropped.incrementAndGet())
+                    .flatMap(tick -> {
+                        long intendedStart = start + (tick + 1) * periodNanos;
+                        return request.apply(tick)
+                                .doOnError(ex -> errors.incrementAndGet())
+                                .onErrorResume(ex -> Mono.empty())
+                                .doFinally(signal -> histogram.recordValue(Math.max(0, System.nanoTime() - intendedStart)));
+                    }, maxInFlight)
+                    .then(Mono.fromSupplier(() -> new WorkloadResult(name, rate, scheduled, errors.get(), dropped.get(),
+                            Duration.ofNanos(System.nanoTime() - start), histogram)));
+        });
+    }
+}
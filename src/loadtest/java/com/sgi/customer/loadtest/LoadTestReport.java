@@ -0,0 +1,107 @@
+package com.sgi.customer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the result of a load test run: {@code report.json} with the settings and the figures of every
+ * workload, {@code report.txt} with the same figures as a table and one {@code .hgrm} percentile
+ * distribution per workload, in milliseconds.
+ * When several repository adapters are run, {@code comparison.txt} and {@code comparison.json} put the
+ * figures of every workload side by side.
+ */
+final class LoadTestReport {
+
+    private static final String ROW_FORMAT = "%-8s %8s %10s %8s %8s %10s %10s %10s %10s%n";
+    private static final String COMPARISON_FORMAT = "%-8s %-10s %8s %8s %10s %10s %10s %10s%n";
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private LoadTestReport() {
+    }
+
+    static void write(LoadTestSettings settings, String adapter, List<WorkloadResult> results) throws IOException {
+        Path directory = settings.reportDirectory(adapter);
+        Files.createDirectories(directory);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", Map.of(
+                "duration", settings.duration().toString(),
+                "seedCustomers", settings.seedCustomers(),
+                "maxInFlight", settings.maxInFlight(),
+                "rates", settings.rates(),
+                "stubLatency", settings.stubLatency().toString(),
+                "stubJitter", settings.stubJitter().toString(),
+                "stubErrorRate", settings.stubErrorRate(),
+                "productsPerSource", settings.productsPerSource(),
+                "seed", settings.seed(),
+                "adapter", adapter));
+        report.put("workloads", results.stream().map(LoadTestReport::toMap).toList());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), report);
+
+        StringBuilder table = new StringBuilder(String.format(ROW_FORMAT,
+                "workload", "rate", "requests", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+        for (WorkloadResult result : results) {
+            table.append(String.format(ROW_FORMAT, result.name(), result.targetRate(), result.scheduled(),
+                    result.errors(), result.dropped(), String.format("%.1f", result.throughput()),
+                    String.format("%.2f", result.percentileMillis(50)), String.format("%.2f", result.percentileMillis(99)),
+                    String.format("%.2f", result.percentileMillis(99.9))));
+            try (PrintStream histogram = new PrintStream(directory.resolve(result.name() + ".hgrm").toFile())) {
+                result.histogram().outputPercentileDistribution(histogram, NANOS_PER_MILLI);
+            }
+        }
+        Files.writeString(directory.resolve("report.txt"), table);
+        System.out.print(table);
+    }
+
+    static void compare(LoadTestSettings settings, Map<String, List<WorkloadResult>> runs) throws IOException {
+        Path directory = settings.reportDirectory();
+        Files.createDirectories(directory);
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        StringBuilder table = new StringBuilder(String.format(COMPARISON_FORMAT,
+                "workload", "adapter", "errors", "dropped", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+        for (String workload : settings.rates().keySet()) {
+            Map<String, Object> byAdapter = new LinkedHashMap<>();
+            runs.forEach((adapter, results) -> results.stream()
+                    .filter(result -> result.name().equals(workload))
+                    .findFirst()
+                    .ifPresent(result -> {
+                        byAdapter.put(adapter, toMap(result));
+                        table.append(String.format(COMPARISON_FORMAT, workload, adapter, result.errors(),
+                                result.dropped(), String.format("%.1f", result.throughput()),
+                                String.format("%.2f", result.percentileMillis(50)),
+                                String.format("%.2f", result.percentileMillis(99)),
+                                String.format("%.2f", result.percentileMillis(99.9))));
+                    }));
+            if (!byAdapter.isEmpty()) {
+                comparison.put(workload, byAdapter);
+            }
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("comparison.json").toFile(), comparison);
+        Files.writeString(directory.resolve("comparison.txt"), table);
+        System.out.print(table);
+    }
+
+    private static Map<String, Object> toMap(WorkloadResult result) {
+        Map<String, Object> workload = new LinkedHashMap<>();
+        workload.put("name", result.name());
+        workload.put("targetRate", result.targetRate());
+        workload.put("requests", result.scheduled());
+        workload.put("errors", result.errors());
+        workload.put("dropped", result.dropped());
+        workload.put("throughput", result.throughput());
+        workload.put("p50Millis", result.percentileMillis(50));
+        workload.put("p99Millis", result.percentileMillis(99));
+        workload.put("p999Millis", result.percentileMillis(99.9));
+        workload.put("maxMillis", result.histogram().getMaxValue() / NANOS_PER_MILLI);
+        return workload;
+    }
+}
@@ -0,0 +1,172 @@
+package com.sgi.customer.loadtest;
+
+import com.sgi.customer.SgiCustomerBackApplication;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerBatchResponse;
+import com.sgi.customer.infrastructure.dto.CustomerRequest;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static com.sgi.customer.loadtest.LoadTestSettings.CREATE;
+import static com.sgi.customer.loadtest.LoadTestSettings.LIST;
+import static com.sgi.customer.loadtest.LoadTestSettings.READ;
+import static com.sgi.customer.loadtest.LoadTestSettings.SUMMARY;
+import static com.sgi.customer.loadtest.LoadTestSettings.UPDATE;
+
+/**
+ * Entry point of the load test.
+ * Starts the downstream stubs, boots the application against an embedded MongoDB with the config server and
+ * Eureka disabled, seeds the customers and drives the CRUD and summary workloads concurrently.
+ * Any application property can be overridden with a system property, for instance
+ * {@code -Dcustomer.summary.cache.fresh=PT0S} to send every summary to the stubs.
+ * {@code -Dload.adapters=reactive,blocking} runs the same workloads against each repository adapter in turn
+ * and compares their throughput and latency.
+ */
+public final class LoadTestRunner {
+
+    private static final int MAX_IN_MEMORY_SIZE = 16 * 1024 * 1024;
+
+    private LoadTestRunner() {
+    }
+
+    /**
+     * Runs the load test once per repository adapter and writes the reports, plus a comparison of the adapters
+     * when more than one is run.
+     *
+     * @param args the application arguments
+     * @throws IOException when a report cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Map<String, List<WorkloadResult>> runs = new LinkedHashMap<>();
+        for (String adapter : settings.adapters()) {
+            List<WorkloadResult> results = run(settings, adapter, args);
+            LoadTestReport.write(settings, adapter, results);
+            runs.put(adapter, results);
+        }
+        if (runs.size() > 1) {
+            LoadTestReport.compare(settings, runs);
+        }
+    }
+
+    /**
+     * Boots the application with the given repository adapter against a fresh embedded MongoDB and drives
+     * the workloads. The customer of every tick is drawn from the seed, the workload and the tick number alone,
+     * so the adapters see the same requests whatever thread runs each tick; every stub has a generator of its
+     * own for its latency and failures.
+     */
+    private static List<WorkloadResult> run(LoadTestSettings settings, String adapter, String[] args) {
+        DownstreamStub accounts = stub("/v1/accounts", settings);
+        DownstreamStub cards = stub("/v1/cards", settings);
+        DownstreamStub credits = stub("/v1/credits", settings);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.cloud.config.enabled", false);
+        properties.put("eureka.client.enabled", false);
+        properties.put("de.flapdoodle.mongodb.embedded.version", "7.0.12");
+        properties.put("customer.repository.adapter", adapter);
+        properties.put("feign.client.config.account-service.url", accounts.baseUrl());
+        properties.put("feign.client.config.card-service.url", cards.baseUrl());
+        properties.put("feign.client.config.credit-service.url", credits.baseUrl());
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SgiCustomerBackApplication.class)
+                .properties(properties)
+                .run(args);
+        try {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            WebClient client = WebClient.builder()
+                    .baseUrl("http://localhost:" + port)
+                    .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE))
+                    .build();
+            List<String> customerIds = seed(client, settings.seedCustomers());
+            LoadDriver driver = new LoadDriver(settings.duration(), settings.maxInFlight());
+            Map<String, Integer> rates = settings.rates();
+            return Flux.merge(
+                            driver.run(CREATE, rates.get(CREATE), tick -> client.post()
+                                    .uri("/v1/customers")
+                                    .bodyValue(customer("create-" + tick))
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .then()),
+                            driver.run(READ, rates.get(READ), tick -> client.get()
+                                    .uri("/v1/customers/{id}", pick(customerIds, settings, READ, tick))
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .then()),
+                            driver.run(UPDATE, rates.get(UPDATE), tick -> client.put()
+                                    .uri("/v1/customers/{id}", pick(customerIds, settings, UPDATE, tick))
+                                    .bodyValue(customer("update-" + tick))
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .then()),
+                            driver.run(LIST, rates.get(LIST), tick -> client.get()
+                                    .uri("/v1/customers?limit=100")
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .then()),
+                            driver.run(SUMMARY, rates.get(SUMMARY), tick -> client.get()
+                                    .uri("/v1/customers/{id}/summary", pick(customerIds, settings, SUMMARY, tick))
+                                    .retrieve()
+                                    .toBodilessEntity()
+                                    .then()))
+                    .collectList()
+                    .block();
+        } finally {
+            context.close();
+            accounts.stop();
+            cards.stop();
+            credits.stop();
+        }
+    }
+
+    private static List<String> seed(WebClient client, int count) {
+        List<CustomerRequest> customers = IntStream.range(0, count)
+                .mapToObj(index -> customer("seed-" + index))
+                .toList();
+        return client.post()
+                .uri("/v1/customers:batch")
+                .bodyValue(customers)
+                .retrieve()
+                .bodyToMono(CustomerBatchResponse.class)
+                .map(response -> response.getResults().stream()
+                        .map(CustomerBatchItemResult::getId)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .blockOptional()
+                .orElseThrow();
+    }
+
+    private static CustomerRequest customer(String suffix) {
+        return new CustomerRequest()
+                .name("Load test " + suffix)
+                .type(CustomerRequest.TypeEnum.PERSONAL)
+                .profile(CustomerRequest.ProfileEnum.VIP)
+                .documentId("LT-" + System.nanoTime() + "-" + suffix)
+                .address("Load test address")
+                .phoneNumber("999999999");
+    }
+
+    private static DownstreamStub stub(String path, LoadTestSettings settings) {
+        return DownstreamStub.start(path, settings, new Random(seed(settings, path)));
+    }
+
+    private static String pick(List<String> customerIds, LoadTestSettings settings, String workload, long tick) {
+        return customerIds.get(new SplittableRandom(seed(settings, workload) + tick).nextInt(customerIds.size()));
+    }
+
+    private static long seed(LoadTestSettings settings, String stream) {
+        return settings.seed() * 31 + stream.hashCode();
+    }
+}
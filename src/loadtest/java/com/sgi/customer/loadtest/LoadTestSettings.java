@@ -0,0 +1,69 @@
+package com.sgi.customer.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from system properties so every run can be reproduced from its report.
+ *
+ * @param duration          time each workload is driven
+ * @param seedCustomers     number of customers created before the workloads start
+ * @param maxInFlight       maximum number of requests in flight per workload; further arrivals are dropped
+ * @param rates             arrival rate of each workload, in requests per second
+ * @param stubLatency       fixed latency of the downstream stubs
+ * @param stubJitter        maximum random latency added to the fixed latency
+ * @param stubErrorRate     fraction of downstream calls answered with HTTP 500
+ * @param productsPerSource number of products returned by each stub per customer
+ * @param seed              seed of the random choices, for reproducible runs
+ * @param reportDirectory   directory the report is written to
+ * @param adapters          repository adapters the workloads are run against, one run each
+ */
+record LoadTestSettings(Duration duration, int seedCustomers, int maxInFlight, Map<String, Integer> rates,
+                        Duration stubLatency, Duration stubJitter, double stubErrorRate, int productsPerSource,
+                        long seed, Path reportDirectory, List<String> adapters) {
+
+    static final String CREATE = "create";
+    static final String READ = "read";
+    static final String UPDATE = "update";
+    static final String LIST = "list";
+    static final String SUMMARY = "summary";
+
+    static LoadTestSettings fromSystemProperties() {
+        Map<String, Integer> rates = new LinkedHashMap<>();
+        rates.put(CREATE, Integer.getInteger("load.rate.create", 20));
+        rates.put(READ, Integer.getInteger("load.rate.read", 200));
+        rates.put(UPDATE, Integer.getInteger("load.rate.update", 20));
+        rates.put(LIST, Integer.getInteger("load.rate.list", 10));
+        rates.put(SUMMARY, Integer.getInteger("load.rate.summary", 100));
+        return new LoadTestSettings(
+                Duration.parse(System.getProperty("load.duration", "PT60S")),
+                Integer.getInteger("load.seed-customers", 1000),
+                Integer.getInteger("load.max-in-flight", 512),
+                rates,
+                Duration.parse(System.getProperty("stub.latency", "PT0.02S")),
+                Duration.parse(System.getProperty("stub.jitter", "PT0.01S")),
+                Double.parseDouble(System.getProperty("stub.error-rate", "0")),
+                Integer.getInteger("stub.products", 10),
+                Long.getLong("load.seed", 42L),
+                Path.of(System.getProperty("load.report-dir", "target/load-test")),
+                Arrays.stream(System.getProperty("load.adapters", "reactive").split(","))
+                        .map(String::trim)
+                        .filter(adapter -> !adapter.isEmpty())
+                        .toList());
+    }
+
+    /**
+     * Returns the directory of the report of one adapter: the report directory itself when a single adapter
+     * is run, or one subdirectory per adapter when they are compared.
+     *
+     * @param adapter the repository adapter
+     * @return the report directory of the run
+     */
+    Path reportDirectory(String adapter) {
+        return adapters.size() > 1 ? reportDirectory.resolve(adapter) : reportDirectory;
+    }
+}
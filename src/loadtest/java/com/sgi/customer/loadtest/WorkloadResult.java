@@ -0,0 +1,29 @@
+package com.sgi.customer.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one workload: request counts and the latency histogram, in nanoseconds, measured from the
+ * intended start of every request so that queueing delays are not hidden (coordinated omission).
+ *
+ * @param name       the workload name
+ * @param targetRate the intended arrival rate, in requests per second
+ * @param scheduled  the number of requests that should have been sent
+ * @param errors     the number of failed requests
+ * @param dropped    the number of arrivals dropped because too many requests were in flight
+ * @param elapsed    the time the workload took
+ * @param histogram  the latency histogram
+ */
+record WorkloadResult(String name, int targetRate, long scheduled, long errors, long dropped, Duration elapsed,
+                      Histogram histogram) {
+
+    double throughput() {
+        return (scheduled - dropped - errors) / (elapsed.toNanos() / 1e9);
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
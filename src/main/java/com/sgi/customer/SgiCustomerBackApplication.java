@@ -2,12 +2,15 @@ package com.sgi.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
 
 /**
  * Main class of the Bank Customers application.
  * Starts the Spring Boot application.
+ * The client of the synchronous MongoDB driver is only built by the blocking repository adapter,
+ * so its auto-configuration is excluded.
  */
-@SpringBootApplication
+@SpringBootApplication(exclude = MongoAutoConfiguration.class)
 public class SgiCustomerBackApplication {
 
 	public static void main(String[] args) {
@@ -1,29 +1,56 @@
 package com.sgi.customer.application.service;
 
+import com.sgi.customer.application.service.ProductSummaryLoader.ProductSummary;
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSearchKeys;
+import com.sgi.customer.domain.model.CustomerSummaryView;
 import com.sgi.customer.domain.ports.in.CustomerService;
+import com.sgi.customer.domain.ports.out.CustomerChangeFeed;
 import com.sgi.customer.domain.ports.out.CustomerRepository;
-import com.sgi.customer.domain.ports.out.FeignExternalService;
 import com.sgi.customer.domain.shared.CustomError;
-import com.sgi.customer.infrastructure.dto.AccountResponse;
+import com.sgi.customer.infrastructure.dto.CustomerBatchDeleteResponse;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerBatchResponse;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.dto.CustomerPatchRequest;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
 import com.sgi.customer.infrastructure.dto.SummaryResponse;
-import com.sgi.customer.infrastructure.dto.CardResponse;
-import com.sgi.customer.infrastructure.dto.CreditResponse;
 import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
 import com.sgi.customer.infrastructure.exception.CustomException;
 import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
-import static com.sgi.customer.domain.shared.Constants.urlParamsComponentBuilder;
+import static com.sgi.customer.domain.shared.Constants.BATCH_CHUNK_SIZE;
+import static com.sgi.customer.domain.shared.Constants.BATCH_CONCURRENCY;
+import static com.sgi.customer.domain.shared.Constants.DEFAULT_PAGE_SIZE;
+import static com.sgi.customer.domain.shared.Constants.DEFAULT_SEARCH_LIMIT;
+import static com.sgi.customer.domain.shared.Constants.MAX_CREATE_BATCH_SIZE;
+import static com.sgi.customer.domain.shared.Constants.MAX_DELETE_BATCH_SIZE;
+import static com.sgi.customer.domain.shared.Constants.MAX_PAGE_SIZE;
+import static com.sgi.customer.domain.shared.Constants.MAX_SEARCH_LIMIT;
+import static com.sgi.customer.domain.shared.Constants.MAX_SEARCH_RESULTS;
+import static com.sgi.customer.domain.shared.Constants.MAX_SUMMARY_BATCH_SIZE;
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_PRODUCTS;
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_TIMER;
 
 /**
  * Implementation of the CustomerService interface.
@@ -34,18 +61,17 @@ import static com.sgi.customer.domain.shared.Constants.urlParamsComponentBuilder
 @RequiredArgsConstructor
 public class CustomerServiceImpl implements CustomerService {
 
-    @Value("${feign.client.config.account-service.url}")
-    private String accountServiceUrl;
+    private final CustomerRepository customerRepository;
 
-    @Value("${feign.client.config.card-service.url}")
-    private String cardServiceUrl;
+    private final ProductSummaryCache productSummaryCache;
 
-    @Value("${feign.client.config.credit-service.url}")
-    private String creditServiceUrl;
+    private final ProductSummaryLoader productSummaryLoader;
 
-    private final CustomerRepository customerRepository;
+    private final SummaryRequestCoalescer summaryRequestCoalescer;
+
+    private final MetricsRecorder metrics;
 
-    private final FeignExternalService webClient;
+    private final CustomerChangeFeed customerChangeFeed;
 
     @Override
     public Mono<CustomerResponse> createCustomer(Mono<CustomerRequest> customer) {
@@ -54,70 +80,243 @@ public class CustomerServiceImpl implements CustomerService {
                         .flatMap(customerRepository::save));
     }
 
+    @Override
+    public Mono<CustomerBatchResponse> createCustomers(Flux<CustomerRequest> customers) {
+        return customers.take(MAX_CREATE_BATCH_SIZE + 1L)
+                .collectList()
+                .flatMap(requests -> {
+                    if (requests.size() > MAX_CREATE_BATCH_SIZE) {
+                        return Mono.error(new CustomException(CustomError.E_BATCH_TOO_LARGE));
+                    }
+                    Set<String> documentIds = ConcurrentHashMap.newKeySet();
+                    return Flux.fromIterable(requests)
+                            .index()
+                            .buffer(BATCH_CHUNK_SIZE)
+                            .flatMapSequential(chunk -> insertChunk(chunk, documentIds), BATCH_CONCURRENCY)
+                            .collectList()
+                            .map(this::toBatchResponse);
+                });
+    }
+
     @Override
     public Mono<Void> deleteCustomer(String id) {
-        return customerRepository.findById(id)
+        return customerRepository.deleteById(id)
+                .filter(Boolean::booleanValue)
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CUSTOMER_NOT_FOUND)))
-                .flatMap(customerRepository::delete);
+                .then();
     }
 
     @Override
-    public Flux<CustomerResponse> getAllCustomers() {
-        return customerRepository.findAll();
+    public Mono<CustomerBatchDeleteResponse> deleteCustomers(List<String> customerIds) {
+        List<String> ids = customerIds.stream().distinct().toList();
+        if (ids.size() > MAX_DELETE_BATCH_SIZE) {
+            return Mono.error(new CustomException(CustomError.E_BATCH_TOO_LARGE));
+        }
+        if (ids.isEmpty()) {
+            return Mono.just(new CustomerBatchDeleteResponse(0, 0));
+        }
+        return customerRepository.deleteAllById(ids)
+                .map(deleted -> new CustomerBatchDeleteResponse(ids.size(), deleted.intValue()));
     }
 
     @Override
-    public Mono<CustomerResponse> getCustomerById(String id) {
-        return customerRepository.findById(id)
-                .map(CustomerMapper.INSTANCE::toCustomerResponse);
+    public Flux<CustomerResponse> getAllCustomers(Integer limit, String after, CustomerFilter filter,
+                                                  CustomerFields fields) {
+        if (!filter.isSupported()) {
+            return Flux.error(new CustomException(CustomError.E_UNSUPPORTED_FILTER));
+        }
+        if (!fields.isSupported()) {
+            return Flux.error(new CustomException(CustomError.E_UNSUPPORTED_FIELDS));
+        }
+        boolean paged = limit != null || after != null;
+        if (!paged && filter.isEmpty() && fields.isAll()) {
+            return customerRepository.findAll();
+        }
+        Integer pageSize = !paged ? null
+                : limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return customerRepository.findAll(filter, after, pageSize, fields);
+    }
+
+    @Override
+    public Flux<CustomerResponse> searchCustomers(String query, Integer limit, Integer offset, CustomerFields fields) {
+        List<String> terms = CustomerSearchKeys.terms(query);
+        int pageSize = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        int skip = offset == null ? 0 : offset;
+        if (terms.isEmpty() || pageSize < 1 || pageSize > MAX_SEARCH_LIMIT
+                || skip < 0 || skip + pageSize > MAX_SEARCH_RESULTS) {
+            return Flux.error(new CustomException(CustomError.E_INVALID_SEARCH));
+        }
+        if (!fields.isSupported()) {
+            return Flux.error(new CustomException(CustomError.E_UNSUPPORTED_FIELDS));
+        }
+        return customerRepository.search(terms, skip, pageSize, fields);
+    }
+
+    @Override
+    public Mono<CustomerStats> getCustomerStats() {
+        return customerRepository.stats();
+    }
+
+    @Override
+    public Mono<CustomerResponse> getCustomerById(String id, CustomerFields fields) {
+        if (!fields.isSupported()) {
+            return Mono.error(new CustomException(CustomError.E_UNSUPPORTED_FIELDS));
+        }
+        return fields.isAll()
+                ? customerRepository.findById(id).map(CustomerMapper.INSTANCE::toCustomerResponse)
+                : customerRepository.findById(id, fields);
     }
 
     @Override
     public Mono<CustomerResponse> updateCustomer(String id, Mono<CustomerRequest> customerRequestMono) {
-        return customerRepository.findById(id)
+        return customerRequestMono
+                .map(updatedCustomer -> {
+                    Customer updatedEntity = CustomerMapper.INSTANCE.toCustomer(updatedCustomer, id);
+                    updatedEntity.setId(id);
+                    return updatedEntity;
+                })
+                .flatMap(customerRepository::replace)
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CUSTOMER_NOT_FOUND)))
-                .flatMap(customer ->
-                        customerRequestMono.map(updatedCustomer -> {
-                            Customer updatedEntity = CustomerMapper.INSTANCE.toCustomer(updatedCustomer, customer.getId());
-                            updatedEntity.setId(customer.getId());
-                            return updatedEntity;
-                        })
-                )
-                .flatMap(customerRepository::save);
+                .map(CustomerMapper.INSTANCE::toCustomerResponse);
     }
 
     @Override
-    public Mono<SummaryResponse> getCustomerSummary(String customerId) {
-        return customerRepository.findById(customerId)
+    public Mono<CustomerResponse> patchCustomer(String id, Mono<CustomerPatchRequest> changesMono) {
+        return changesMono
+                .filter(CustomerServiceImpl::hasChanges)
+                .switchIfEmpty(Mono.error(new CustomException(CustomError.E_EMPTY_UPDATE)))
+                .flatMap(changes -> {
+                    Customer changedEntity = CustomerMapper.INSTANCE.toCustomer(changes, id);
+                    changedEntity.setId(id);
+                    return customerRepository.update(changedEntity, changes.getVersion());
+                })
                 .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CUSTOMER_NOT_FOUND)))
-                .flatMap(customer -> {
-                    Mono<List<AccountResponse>> accountsMono = Flux.from(webClient.get(
-                                    urlParamsComponentBuilder(accountServiceUrl, "/v1/accounts", Map.of("clientId", customerId)),
-                                    null, AccountResponse.class, true)).collectList();
-                    Mono<List<CardResponse>> cardsMono = Flux.from(webClient.get(
-                                    urlParamsComponentBuilder(cardServiceUrl, "/v1/cards", Map.of("clientId", customerId)),
-                                    null, CardResponse.class, true)).collectList();
-                    Mono<List<CreditResponse>> creditsMono = Flux.from(webClient.get(
-                                    urlParamsComponentBuilder(creditServiceUrl, "/v1/credits", Map.of("clientId", customerId)),
-                                    null, CreditResponse.class, true)).collectList();
-                    Mono<SummaryResponseProduct> summaryResponseProductMono = Mono.zip(accountsMono, cardsMono, creditsMono)
-                            .map(tuple -> {
-                                List<AccountResponse> accounts = tuple.getT1();
-                                List<CardResponse> cards = tuple.getT2();
-                                List<CreditResponse> credits = tuple.getT3();
-                                SummaryResponseProduct product = new SummaryResponseProduct();
-                                product.accounts(accounts);
-                                product.cards(cards);
-                                product.credits(credits);
-                                return product;
-                            });
-                    return summaryResponseProductMono.map(product ->
-                            new SummaryResponse(customer.getId(), customer.getName(), product));
-                });
+                .map(CustomerMapper.INSTANCE::toCustomerResponse);
     }
 
+    private static boolean hasChanges(CustomerPatchRequest changes) {
+        return Stream.of(changes.getName(), changes.getType(), changes.getProfile(), changes.getDocumentId(),
+                        changes.getEmail(), changes.getPhoneNumber(), changes.getAddress())
+                .anyMatch(Objects::nonNull);
+    }
 
+    private Flux<CustomerBatchItemResult> insertChunk(List<Tuple2<Long, CustomerRequest>> chunk,
+                                                      Set<String> documentIds) {
+        List<Customer> customers = new ArrayList<>(chunk.size());
+        List<Integer> positions = new ArrayList<>(chunk.size());
+        List<CustomerBatchItemResult> duplicates = new ArrayList<>();
+        chunk.forEach(item -> {
+            int index = item.getT1().intValue();
+            CustomerRequest request = item.getT2();
+            if (request.getDocumentId() != null && !documentIds.add(request.getDocumentId())) {
+                duplicates.add(new CustomerBatchItemResult()
+                        .index(index)
+                        .documentId(request.getDocumentId())
+                        .status(CustomerBatchItemResult.StatusEnum.DUPLICATE)
+                        .message(CustomError.E_DUPLICATE_DOCUMENT.getError().getMessage()));
+            } else {
+                customers.add(CustomerMapper.INSTANCE.created(request));
+                positions.add(index);
+            }
+        });
+        Flux<CustomerBatchItemResult> inserted = customers.isEmpty() ? Flux.empty()
+                : customerRepository.insertAll(customers)
+                        .map(result -> result.index(positions.get(result.getIndex())));
+        return Flux.concat(inserted, Flux.fromIterable(duplicates));
+    }
 
+    private CustomerBatchResponse toBatchResponse(List<CustomerBatchItemResult> results) {
+        results.sort(Comparator.comparing(CustomerBatchItemResult::getIndex));
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == CustomerBatchItemResult.StatusEnum.CREATED)
+                .count();
+        return new CustomerBatchResponse()
+                .total(results.size())
+                .created(created)
+                .failed(results.size() - created)
+                .results(results);
+    }
 
+    @Override
+    public Mono<SummaryResponse> getCustomerSummary(String customerId, boolean allowPartial) {
+        Mono<SummaryResponse> summary = summaryRequestCoalescer.execute(customerId + ':' + allowPartial,
+                () -> customerRepository.findSummaryViewById(customerId)
+                        .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CUSTOMER_NOT_FOUND)))
+                        .flatMap(customer -> productSummaryCache.get(customerId, allowPartial)
+                                .map(products -> toSummaryResponse(customer, products))));
+        return metrics.time(SUMMARY_TIMER, summaryTags("single", allowPartial), summary);
+    }
+
+    @Override
+    public Flux<SummaryResponse> getCustomerSummaries(List<String> customerIds, boolean allowPartial) {
+        if (customerIds.size() > MAX_SUMMARY_BATCH_SIZE) {
+            return Flux.error(new CustomException(CustomError.E_BATCH_TOO_LARGE));
+        }
+        List<String> ids = customerIds.stream().distinct().toList();
+        Flux<SummaryResponse> summaries = customerRepository.findSummaryViewsById(ids)
+                .collectMap(CustomerSummaryView::id)
+                .flatMapMany(customers -> Flux.fromIterable(ids)
+                        .filter(id -> !customers.containsKey(id))
+                        .map(id -> failedSummary(id, SummaryResponse.StatusEnum.NOT_FOUND,
+                                new CustomException(CustomError.E_CUSTOMER_NOT_FOUND)))
+                        .concatWith(productSummaryCache.getAll(List.copyOf(customers.keySet()), allowPartial)
+                                .map(products -> products.isFailed()
+                                        ? failedSummary(products.customerId(), SummaryResponse.StatusEnum.FAILED,
+                                                products.error())
+                                        : toSummaryResponse(customers.get(products.customerId()), products.summary()))));
+        return metrics.time(SUMMARY_TIMER, summaryTags("batch", allowPartial), summaries);
+    }
+
+    @Override
+    public Flux<CustomerSummaryItem> streamCustomerSummary(String customerId, boolean allowPartial) {
+        Flux<CustomerSummaryItem> items = customerRepository.findSummaryViewById(customerId)
+                .switchIfEmpty(Mono.error(new CustomException(CustomError.E_CUSTOMER_NOT_FOUND)))
+                .flatMapMany(customer -> Flux.concat(
+                        Mono.just(new CustomerSummaryItem(CustomerSummaryItem.KindEnum.CUSTOMER)
+                                .customerId(customer.id())
+                                .name(customer.name())),
+                        productSummaryLoader.stream(customerId, allowPartial)));
+        return metrics.time(SUMMARY_TIMER, summaryTags("stream", allowPartial), items);
+    }
+
+    @Override
+    public Flux<CustomerChangeEvent> getCustomerChanges() {
+        return customerChangeFeed.changes();
+    }
+
+    @Override
+    public Mono<Void> evictCustomerSummary(String customerId) {
+        return Mono.fromRunnable(() -> productSummaryCache.evict(customerId));
+    }
+
+    private SummaryResponse toSummaryResponse(CustomerSummaryView customer, ProductSummary summary) {
+        SummaryResponseProduct product = summary.product();
+        metrics.recordSize(SUMMARY_PRODUCTS, Tags.empty(),
+                sizeOf(product.getAccounts()) + sizeOf(product.getCards()) + sizeOf(product.getCredits()));
+        return new SummaryResponse(customer.id())
+                .status(SummaryResponse.StatusEnum.FOUND)
+                .name(customer.name())
+                .product(product)
+                .partial(summary.isPartial())
+                .missingSources(summary.missingSources());
+    }
 
+    private static SummaryResponse failedSummary(String customerId, SummaryResponse.StatusEnum status,
+                                                 Throwable error) {
+        CustomException failure = error instanceof CustomException custom
+                ? custom
+                : new CustomException(CustomError.E_OPERATION_FAILED);
+        return new SummaryResponse(customerId)
+                .status(status)
+                .code(failure.getCode())
+                .message(failure.getMessage());
+    }
+
+    private static Tags summaryTags(String type, boolean allowPartial) {
+        return Tags.of("type", type, "mode", allowPartial ? "partial" : "strict");
+    }
+
+    private static int sizeOf(List<?> products) {
+        return products == null ? 0 : products.size();
+    }
 }
@@ -0,0 +1,194 @@
+package com.sgi.customer.application.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sgi.customer.application.service.ProductSummaryLoader.CustomerProducts;
+import com.sgi.customer.application.service.ProductSummaryLoader.ProductSummary;
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_FALLBACK_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_GROUP_FALLBACK_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_REFRESH_ERROR_FORMAT;
+
+/**
+ * Per-customer cache of complete product summaries in front of {@link ProductSummaryLoader}.
+ * Fresh snapshots are served directly, stale snapshots are served while a single background refresh
+ * replaces them, and older snapshots are kept as last good value for when the sources fail or their
+ * circuit breakers are open. Partial summaries are never stored.
+ */
+@Slf4j
+@Component
+public class ProductSummaryCache {
+
+    private final ProductSummaryLoader loader;
+    private final SummaryProperties.CacheSettings settings;
+    private final SummaryProperties.BatchSettings batchSettings;
+    private final Cache<String, Snapshot> snapshots;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public ProductSummaryCache(ProductSummaryLoader loader, SummaryProperties properties, MeterRegistry registry) {
+        this.loader = loader;
+        this.settings = properties.getCache();
+        this.batchSettings = properties.getBatch();
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getRetention())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, snapshots, "customer-summaries");
+    }
+
+    /**
+     * Returns the products of a customer, from the cache when the snapshot is fresh or stale enough.
+     *
+     * @param customerId   the unique identifier of the customer
+     * @param allowPartial whether sources that fail or exceed their timeout may be left out
+     * @return a Mono emitting the products and the names of the missing sources
+     */
+    public Mono<ProductSummary> get(String customerId, boolean allowPartial) {
+        return Mono.defer(() -> {
+            Snapshot snapshot = snapshots.getIfPresent(customerId);
+            if (snapshot == null) {
+                return loadAndStore(customerId, allowPartial, null);
+            }
+            if (isServable(customerId, snapshot)) {
+                return Mono.just(snapshot.summary());
+            }
+            return loadAndStore(customerId, allowPartial, snapshot);
+        });
+    }
+
+    /**
+     * Returns the products of many customers. Cached snapshots are emitted first; the remaining customers
+     * are loaded in groups with bounded concurrency and emitted as each group completes.
+     * A group that fails falls back to the last good snapshots and loads its other customers one by one, so a
+     * failing customer is reported as {@link CustomerProducts#failed failed} without failing the others.
+     *
+     * @param customerIds  the unique identifiers of the customers
+     * @param allowPartial whether sources that fail or exceed their timeout may be left out
+     * @return a Flux emitting the products or the failure of every customer
+     */
+    public Flux<CustomerProducts> getAll(List<String> customerIds, boolean allowPartial) {
+        return Flux.defer(() -> {
+            List<CustomerProducts> hits = new ArrayList<>();
+            List<String> misses = new ArrayList<>();
+            Map<String, Snapshot> lastGood = new HashMap<>();
+            customerIds.forEach(customerId -> {
+                Snapshot snapshot = snapshots.getIfPresent(customerId);
+                if (snapshot != null && isServable(customerId, snapshot)) {
+                    hits.add(new CustomerProducts(customerId, snapshot.summary()));
+                    return;
+                }
+                misses.add(customerId);
+                if (snapshot != null) {
+                    lastGood.put(customerId, snapshot);
+                }
+            });
+            Flux<CustomerProducts> loaded = Flux.fromIterable(misses)
+                    .buffer(batchSettings.effectiveGroupSize())
+                    .flatMap(group -> loadGroup(group, allowPartial, lastGood), batchSettings.getConcurrency());
+            return Flux.fromIterable(hits).concatWith(loaded);
+        });
+    }
+
+    /**
+     * Removes the cached snapshot of a customer so the next request loads it from the sources.
+     *
+     * @param customerId the unique identifier of the customer
+     */
+    public void evict(String customerId) {
+        snapshots.invalidate(customerId);
+    }
+
+    private boolean isServable(String customerId, Snapshot snapshot) {
+        Duration age = snapshot.age();
+        if (age.compareTo(settings.getFresh()) < 0) {
+            return true;
+        }
+        if (age.compareTo(settings.getStale()) < 0) {
+            refresh(customerId);
+            return true;
+        }
+        return false;
+    }
+
+    private Mono<ProductSummary> loadAndStore(String customerId, boolean allowPartial, Snapshot lastGood) {
+        return loader.load(customerId, allowPartial)
+                .map(summary -> keep(customerId, summary, lastGood))
+                .onErrorResume(ex -> lastGood != null, ex -> {
+                    log.warn(SUMMARY_FALLBACK_FORMAT, customerId, ex.toString());
+                    return Mono.just(lastGood.summary());
+                });
+    }
+
+    private Flux<CustomerProducts> loadGroup(List<String> customerIds, boolean allowPartial,
+                                             Map<String, Snapshot> lastGood) {
+        return loader.loadGroup(customerIds, allowPartial)
+                .flatMapIterable(summaries -> customerIds.stream()
+                        .map(customerId -> new CustomerProducts(customerId,
+                                keep(customerId, summaries.get(customerId), lastGood.get(customerId))))
+                        .toList())
+                .onErrorResume(ex -> {
+                    log.warn(SUMMARY_GROUP_FALLBACK_FORMAT, customerIds, ex.toString());
+                    return Flux.fromIterable(customerIds)
+                            .flatMap(customerId -> {
+                                Snapshot snapshot = lastGood.get(customerId);
+                                if (snapshot != null) {
+                                    return Mono.just(new CustomerProducts(customerId, snapshot.summary()));
+                                }
+                                return customerIds.size() == 1
+                                        ? Mono.just(CustomerProducts.failed(customerId, ex))
+                                        : loadOne(customerId, allowPartial);
+                            }, batchSettings.getConcurrency());
+                });
+    }
+
+    private Mono<CustomerProducts> loadOne(String customerId, boolean allowPartial) {
+        return loader.load(customerId, allowPartial)
+                .map(summary -> new CustomerProducts(customerId, keep(customerId, summary, null)))
+                .onErrorResume(ex -> Mono.just(CustomerProducts.failed(customerId, ex)));
+    }
+
+    private ProductSummary keep(String customerId, ProductSummary summary, Snapshot lastGood) {
+        if (!summary.isPartial()) {
+            store(customerId, summary);
+            return summary;
+        }
+        return lastGood != null ? lastGood.summary() : summary;
+    }
+
+    private void refresh(String customerId) {
+        if (!refreshing.add(customerId)) {
+            return;
+        }
+        loader.load(customerId, false)
+                .doFinally(signal -> refreshing.remove(customerId))
+                .subscribe(summary -> store(customerId, summary),
+                        ex -> log.warn(SUMMARY_REFRESH_ERROR_FORMAT, customerId, ex.toString()));
+    }
+
+    private void store(String customerId, ProductSummary summary) {
+        snapshots.put(customerId, new Snapshot(summary, System.nanoTime()));
+    }
+
+    private record Snapshot(ProductSummary summary, long loadedAt) {
+
+        Duration age() {
+            return Duration.ofNanos(System.nanoTime() - loadedAt);
+        }
+    }
+}
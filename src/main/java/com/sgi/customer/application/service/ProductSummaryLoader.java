@@ -0,0 +1,271 @@
+package com.sgi.customer.application.service;
+
+import com.sgi.customer.domain.ports.out.FeignExternalService;
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import com.sgi.customer.infrastructure.dto.AccountResponse;
+import com.sgi.customer.infrastructure.dto.CardResponse;
+import com.sgi.customer.infrastructure.dto.CreditResponse;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
+import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.sgi.customer.domain.shared.Constants.ACCOUNT_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CARD_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CREDIT_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_ITEMS;
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_SOURCE_MISSING_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.urlParamsComponentBuilder;
+
+/**
+ * Loads the products of a customer from the account, card and credit services.
+ * The three sources are queried concurrently. In strict mode any failure fails the summary; in partial
+ * mode each source is bounded by its own timeout and the sources that did not answer are reported as missing.
+ * Groups of customers are loaded with one call per service when the service supports multi-client queries.
+ * The products of a single customer can also be streamed without collecting them.
+ */
+@Slf4j
+@Component
+public class ProductSummaryLoader {
+
+    public static final String ACCOUNTS = "accounts";
+    public static final String CARDS = "cards";
+    public static final String CREDITS = "credits";
+
+    private static final String CLIENT_IDS_PARAM = "clientIds";
+
+    private final FeignExternalService webClient;
+    private final SummaryProperties properties;
+    private final MetricsRecorder metrics;
+    private final String accountServiceUrl;
+    private final String cardServiceUrl;
+    private final String creditServiceUrl;
+
+    public ProductSummaryLoader(FeignExternalService webClient, SummaryProperties properties, MetricsRecorder metrics,
+                                @Value("${feign.client.config.account-service.url}") String accountServiceUrl,
+                                @Value("${feign.client.config.card-service.url}") String cardServiceUrl,
+                                @Value("${feign.client.config.credit-service.url}") String creditServiceUrl) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.accountServiceUrl = accountServiceUrl;
+        this.cardServiceUrl = cardServiceUrl;
+        this.creditServiceUrl = creditServiceUrl;
+    }
+
+    /**
+     * Loads the account, card and credit products of a customer.
+     *
+     * @param customerId   the unique identifier of the customer
+     * @param allowPartial whether sources that fail or exceed their timeout may be left out
+     * @return a Mono emitting the products and the names of the missing sources
+     */
+    public Mono<ProductSummary> load(String customerId, boolean allowPartial) {
+        Map<String, Object> params = Map.of("clientId", customerId);
+        Mono<Optional<List<AccountResponse>>> accountsMono = fetch(ACCOUNT_SERVICE,
+                urlParamsComponentBuilder(accountServiceUrl, "/v1/accounts", params), AccountResponse.class, allowPartial);
+        Mono<Optional<List<CardResponse>>> cardsMono = fetch(CARD_SERVICE,
+                urlParamsComponentBuilder(cardServiceUrl, "/v1/cards", params), CardResponse.class, allowPartial);
+        Mono<Optional<List<CreditResponse>>> creditsMono = fetch(CREDIT_SERVICE,
+                urlParamsComponentBuilder(creditServiceUrl, "/v1/credits", params), CreditResponse.class, allowPartial);
+        return Mono.zip(accountsMono, cardsMono, creditsMono)
+                .map(tuple -> toSummary(tuple.getT1(), tuple.getT2(), tuple.getT3()));
+    }
+
+    /**
+     * Streams the account, card and credit products of a customer as the services deliver them,
+     * without collecting them. In partial mode a source that fails or stalls for longer than its timeout
+     * ends with a missing source item; otherwise its failure ends the stream.
+     *
+     * @param customerId   the unique identifier of the customer
+     * @param allowPartial whether sources that fail or stall may be reported as missing
+     * @return a Flux emitting one item per product, in no particular order across sources
+     */
+    public Flux<CustomerSummaryItem> stream(String customerId, boolean allowPartial) {
+        Map<String, Object> params = Map.of("clientId", customerId);
+        return Flux.merge(
+                streamSource(ACCOUNT_SERVICE, ACCOUNTS, urlParamsComponentBuilder(accountServiceUrl, "/v1/accounts", params),
+                        AccountResponse.class, account -> item(CustomerSummaryItem.KindEnum.ACCOUNT).account(account),
+                        allowPartial),
+                streamSource(CARD_SERVICE, CARDS, urlParamsComponentBuilder(cardServiceUrl, "/v1/cards", params),
+                        CardResponse.class, card -> item(CustomerSummaryItem.KindEnum.CARD).card(card), allowPartial),
+                streamSource(CREDIT_SERVICE, CREDITS, urlParamsComponentBuilder(creditServiceUrl, "/v1/credits", params),
+                        CreditResponse.class, credit -> item(CustomerSummaryItem.KindEnum.CREDIT).credit(credit),
+                        allowPartial));
+    }
+
+    private <R> Flux<CustomerSummaryItem> streamSource(String service, String source, String url, Class<R> responseType,
+                                                       Function<R, CustomerSummaryItem> toItem, boolean allowPartial) {
+        AtomicLong count = new AtomicLong();
+        Flux<CustomerSummaryItem> items = Flux.from(webClient.get(service, url, null, responseType, true))
+                .doOnNext(product -> count.incrementAndGet())
+                .map(toItem)
+                .doOnComplete(() -> metrics.recordSize(DOWNSTREAM_ITEMS, Tags.of("service", service), count.get()));
+        if (!allowPartial) {
+            return items;
+        }
+        return items.timeout(properties.timeout(service))
+                .onErrorResume(ex -> {
+                    log.warn(SUMMARY_SOURCE_MISSING_FORMAT, service, ex.toString());
+                    return Mono.just(item(CustomerSummaryItem.KindEnum.MISSING_SOURCE).source(source));
+                });
+    }
+
+    private static CustomerSummaryItem item(CustomerSummaryItem.KindEnum kind) {
+        return new CustomerSummaryItem(kind);
+    }
+
+    /**
+     * Loads the products of a group of customers, with one call per service and customer or, for the
+     * services that support it, one multi-client call for the whole group.
+     *
+     * @param customerIds  the unique identifiers of the customers
+     * @param allowPartial whether sources that fail or exceed their timeout may be left out
+     * @return a Mono emitting the products of every customer keyed by customer id
+     */
+    public Mono<Map<String, ProductSummary>> loadGroup(List<String> customerIds, boolean allowPartial) {
+        Mono<Map<String, Optional<List<AccountResponse>>>> accountsMono = fetchGroup(ACCOUNT_SERVICE,
+                accountServiceUrl, "/v1/accounts", AccountResponse.class, AccountResponse::getClientId,
+                customerIds, allowPartial);
+        Mono<Map<String, Optional<List<CardResponse>>>> cardsMono = fetchGroup(CARD_SERVICE,
+                cardServiceUrl, "/v1/cards", CardResponse.class, CardResponse::getClientId,
+                customerIds, allowPartial);
+        Mono<Map<String, Optional<List<CreditResponse>>>> creditsMono = fetchGroup(CREDIT_SERVICE,
+                creditServiceUrl, "/v1/credits", CreditResponse.class, CreditResponse::getClientId,
+                customerIds, allowPartial);
+        return Mono.zip(accountsMono, cardsMono, creditsMono)
+                .map(tuple -> {
+                    Map<String, ProductSummary> summaries = new HashMap<>();
+                    customerIds.forEach(customerId -> summaries.put(customerId, toSummary(
+                            tuple.getT1().get(customerId), tuple.getT2().get(customerId), tuple.getT3().get(customerId))));
+                    return summaries;
+                });
+    }
+
+    private <R> Mono<Map<String, Optional<List<R>>>> fetchGroup(String service, String domain, String url,
+                                                                Class<R> responseType, Function<R, String> clientId,
+                                                                List<String> customerIds, boolean allowPartial) {
+        if (customerIds.size() > 1 && properties.getBatch().getMultiClientServices().contains(service)) {
+            String groupUrl = urlParamsComponentBuilder(domain, url,
+                    Map.of(CLIENT_IDS_PARAM, String.join(",", customerIds)));
+            return fetch(service, groupUrl, responseType, allowPartial)
+                    .map(products -> byCustomer(customerIds, products, clientId));
+        }
+        return Flux.fromIterable(customerIds)
+                .flatMap(customerId -> fetch(service,
+                        urlParamsComponentBuilder(domain, url, Map.of("clientId", customerId)), responseType, allowPartial)
+                        .map(products -> Map.entry(customerId, products)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private static <R> Map<String, Optional<List<R>>> byCustomer(List<String> customerIds, Optional<List<R>> products,
+                                                                 Function<R, String> clientId) {
+        Map<String, List<R>> grouped = products.orElse(Collections.emptyList()).stream()
+                .filter(product -> clientId.apply(product) != null)
+                .collect(Collectors.groupingBy(clientId));
+        Map<String, Optional<List<R>>> result = new HashMap<>();
+        customerIds.forEach(customerId -> result.put(customerId, products.isEmpty()
+                ? Optional.empty()
+                : Optional.of(grouped.getOrDefault(customerId, Collections.emptyList()))));
+        return result;
+    }
+
+    private static ProductSummary toSummary(Optional<List<AccountResponse>> accounts, Optional<List<CardResponse>> cards,
+                                            Optional<List<CreditResponse>> credits) {
+        List<String> missingSources = new ArrayList<>();
+        SummaryResponseProduct product = new SummaryResponseProduct();
+        product.accounts(orMissing(accounts, ACCOUNTS, missingSources));
+        product.cards(orMissing(cards, CARDS, missingSources));
+        product.credits(orMissing(credits, CREDITS, missingSources));
+        return new ProductSummary(product, missingSources);
+    }
+
+    private <R> Mono<Optional<List<R>>> fetch(String service, String url, Class<R> responseType, boolean allowPartial) {
+        Mono<List<R>> products = Flux.from(webClient.get(service, url, null, responseType, true))
+                .collectList()
+                .doOnNext(items -> metrics.recordSize(DOWNSTREAM_ITEMS, Tags.of("service", service), items.size()));
+        if (!allowPartial) {
+            return products.map(Optional::of);
+        }
+        return products.timeout(properties.timeout(service))
+                .map(Optional::of)
+                .onErrorResume(ex -> {
+                    log.warn(SUMMARY_SOURCE_MISSING_FORMAT, service, ex.toString());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    private static <R> List<R> orMissing(Optional<List<R>> products, String source, List<String> missingSources) {
+        if (products.isEmpty()) {
+            missingSources.add(source);
+        }
+        return products.orElse(Collections.emptyList());
+    }
+
+    /**
+     * Products of a customer together with the sources that could not be loaded.
+     *
+     * @param product        the account, card and credit products
+     * @param missingSources the names of the sources left out of a partial summary
+     */
+    public record ProductSummary(SummaryResponseProduct product, List<String> missingSources) {
+
+        /**
+         * Tells whether some source is missing from the products.
+         *
+         * @return true when at least one source could not be loaded
+         */
+        public boolean isPartial() {
+            return !missingSources.isEmpty();
+        }
+    }
+
+    /**
+     * Products of one customer of a batch, or the failure that kept them from loading.
+     *
+     * @param customerId the unique identifier of the customer
+     * @param summary    the products of the customer, or null when they failed
+     * @param error      the failure of the customer, or null when the products loaded
+     */
+    public record CustomerProducts(String customerId, ProductSummary summary, Throwable error) {
+
+        public CustomerProducts(String customerId, ProductSummary summary) {
+            this(customerId, summary, null);
+        }
+
+        /**
+         * Reports a customer whose products could not be loaded.
+         *
+         * @param customerId the unique identifier of the customer
+         * @param error      the failure
+         * @return the failed products
+         */
+        public static CustomerProducts failed(String customerId, Throwable error) {
+            return new CustomerProducts(customerId, null, error);
+        }
+
+        /**
+         * Tells whether the products of the customer failed to load.
+         *
+         * @return true when {@link #error()} is set
+         */
+        public boolean isFailed() {
+            return error != null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sgi.customer.application.service;
+
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import com.sgi.customer.infrastructure.dto.SummaryResponse;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_COALESCED;
+
+/**
+ * Single-flight of the customer summaries: concurrent requests for the same key share one computation.
+ * The computation keeps running when its first caller goes away, so the others still get the result, and
+ * failures are shared with the callers waiting for them but never reused afterwards.
+ * Requests that joined an existing computation are counted by {@code customer.summary.coalesced}.
+ */
+@Component
+public class SummaryRequestCoalescer {
+
+    private final SummaryProperties.CoalesceSettings settings;
+    private final MetricsRecorder metrics;
+    private final Map<String, Mono<SummaryResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public SummaryRequestCoalescer(SummaryProperties properties, MetricsRecorder metrics) {
+        this.settings = properties.getCoalesce();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the result of the computation in flight for the key, starting it when there is none.
+     *
+     * @param key         the identity of the request, such as the customer id and mode
+     * @param computation the computation of the result
+     * @return a Mono emitting the shared result
+     */
+    public Mono<SummaryResponse> execute(String key, Supplier<Mono<SummaryResponse>> computation) {
+        if (!settings.isEnabled()) {
+            return Mono.defer(computation);
+        }
+        return Mono.defer(() -> {
+            AtomicBoolean started = new AtomicBoolean();
+            Mono<SummaryResponse> flight = inFlight.computeIfAbsent(key, name -> {
+                started.set(true);
+                return share(name, computation.get());
+            });
+            if (!started.get()) {
+                metrics.increment(SUMMARY_COALESCED, Tags.empty());
+            }
+            return flight;
+        });
+    }
+
+    private Mono<SummaryResponse> share(String key, Mono<SummaryResponse> computation) {
+        Duration window = settings.getShareWindow();
+        AtomicReference<Mono<SummaryResponse>> self = new AtomicReference<>();
+        Mono<SummaryResponse> flight = computation
+                .doOnSuccess(result -> release(key, self.get(), result != null ? window : Duration.ZERO))
+                .doOnError(ex -> release(key, self.get(), Duration.ZERO))
+                .cache(result -> window, ex -> Duration.ZERO, () -> Duration.ZERO);
+        self.set(flight);
+        return flight;
+    }
+
+    private void release(String key, Mono<SummaryResponse> flight, Duration window) {
+        if (window.isZero()) {
+            inFlight.remove(key, flight);
+            return;
+        }
+        Mono.delay(window).subscribe(tick -> inFlight.remove(key, flight));
+    }
+}
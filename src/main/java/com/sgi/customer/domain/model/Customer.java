@@ -6,14 +6,24 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.List;
+
 /**
  * Represents a customer in the system.
  * Contains information such as the customer's personal details, contact information,
  * and unique identifiers.
  * The class is mapped to the 'customer' collection in MongoDB.
+ * Besides the primary key, lookups by document, by email and by type and profile are index-backed;
+ * the email and type indexes end with the id so keyset pages are read in index order.
+ * The version is incremented by every update and guards partial updates against lost writes.
+ * The name, email and phone keys are the normalized copies the search matches by prefix
+ * (see {@link CustomerSearchKeys}); they are derived on every write and never exposed.
  */
 @Setter
 @Getter
@@ -21,7 +31,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @Document(collection = "customer")
 @AllArgsConstructor
 @NoArgsConstructor
-@CompoundIndex(def = "{'id': 1, 'documentId': 1, 'name': 1}", name = "id_document_documentId_name_index", unique = true)
+@CompoundIndexes({
+    @CompoundIndex(def = "{'id': 1, 'documentId': 1, 'name': 1}", name = "id_document_documentId_name_index", unique = true),
+    @CompoundIndex(def = "{'email': 1, '_id': 1}", name = "email_id_index"),
+    @CompoundIndex(def = "{'type': 1, 'profile': 1, '_id': 1}", name = "type_profile_id_index")
+})
 public class Customer {
 
     @Id
@@ -29,8 +43,17 @@ public class Customer {
     private String name;
     private String type;
     private String profile;
+    @Indexed(name = "documentId_unique_index", unique = true, sparse = true)
     private String documentId;
     private String email;
     private String phoneNumber;
     private String address;
+    @Indexed(name = "nameKeys_index")
+    private List<String> nameKeys;
+    @Indexed(name = "emailKey_index")
+    private String emailKey;
+    @Indexed(name = "phoneKey_index")
+    private String phoneKey;
+    @Version
+    private Long version;
 }
\ No newline at end of file
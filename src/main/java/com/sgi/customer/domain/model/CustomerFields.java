@@ -0,0 +1,67 @@
+package com.sgi.customer.domain.model;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields of the customer a read returns; the others are neither read from the database nor mapped.
+ * A projection always includes the id. An empty selection returns every field.
+ *
+ * @param names the selected field names, named as in the customer response
+ */
+public record CustomerFields(Set<String> names) {
+
+    /** Fields that can be selected. */
+    public static final Set<String> SUPPORTED = Set.of("id", "name", "type", "profile", "documentId", "email",
+            "phoneNumber", "address", "version");
+
+    /** Selection returning every field. */
+    public static final CustomerFields ALL = new CustomerFields(Set.of());
+
+    private static final String ID = "id";
+
+    public CustomerFields {
+        names = Set.copyOf(names);
+    }
+
+    /**
+     * Builds the selection of the requested fields, ignoring blank names.
+     *
+     * @param requested the requested field names, or null for every field
+     * @return the selection, including the id unless every field is returned
+     */
+    public static CustomerFields of(List<String> requested) {
+        if (requested == null) {
+            return ALL;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        requested.stream()
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .forEach(names::add);
+        if (names.isEmpty()) {
+            return ALL;
+        }
+        names.add(ID);
+        return new CustomerFields(names);
+    }
+
+    /**
+     * Tells whether every field is returned.
+     *
+     * @return true when no field was selected
+     */
+    public boolean isAll() {
+        return names.isEmpty();
+    }
+
+    /**
+     * Tells whether every selected field exists.
+     *
+     * @return true when all the names are in {@link #SUPPORTED}
+     */
+    public boolean isSupported() {
+        return SUPPORTED.containsAll(names);
+    }
+}
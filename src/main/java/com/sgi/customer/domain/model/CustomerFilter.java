@@ -0,0 +1,36 @@
+package com.sgi.customer.domain.model;
+
+/**
+ * Filter of the customer listing.
+ * Only index-backed combinations are supported: a document id, an email, or a type optionally
+ * narrowed by profile.
+ *
+ * @param documentId the identity document of the customer
+ * @param email      the email of the customer
+ * @param type       the customer type (PERSONAL, BUSINESS)
+ * @param profile    the customer profile (VIP, PYME); requires a type
+ */
+public record CustomerFilter(String documentId, String email, String type, String profile) {
+
+    /** Filter matching every customer. */
+    public static final CustomerFilter NONE = new CustomerFilter(null, null, null, null);
+
+    /**
+     * Tells whether the filter has no criteria.
+     *
+     * @return true when every criterion is null
+     */
+    public boolean isEmpty() {
+        return documentId == null && email == null && type == null && profile == null;
+    }
+
+    /**
+     * Tells whether the criteria can be served by a single index.
+     *
+     * @return true for a document id alone, an email alone, or a type with an optional profile
+     */
+    public boolean isSupported() {
+        int groups = (documentId != null ? 1 : 0) + (email != null ? 1 : 0) + (type != null || profile != null ? 1 : 0);
+        return groups <= 1 && (profile == null || type != null);
+    }
+}
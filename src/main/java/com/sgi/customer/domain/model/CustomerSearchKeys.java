@@ -0,0 +1,90 @@
+package com.sgi.customer.domain.model;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalized keys the customer search matches by prefix: the words of the name, the email and the
+ * digits of the phone number, lower-cased and without accents so that "José" is found by "jose".
+ * Keys are derived from the fields they come from, so a partial update only recomputes the keys
+ * of the fields it changes.
+ */
+public final class CustomerSearchKeys {
+
+    /** Shortest search term; shorter terms would match a large part of the collection. */
+    public static final int MIN_TERM_LENGTH = 2;
+
+    /** Maximum number of terms of a query; further terms are ignored. */
+    public static final int MAX_TERMS = 5;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern TERM_SEPARATORS = Pattern.compile("\\s+");
+    private static final Pattern NON_DIGITS = Pattern.compile("\\D+");
+
+    private CustomerSearchKeys() {
+    }
+
+    /**
+     * Sets the search keys of a customer from its name, email and phone number.
+     * Keys of null fields stay null, so they are left untouched by partial updates.
+     *
+     * @param customer the customer to complete
+     * @return the same customer
+     */
+    public static Customer apply(Customer customer) {
+        customer.setNameKeys(nameKeys(customer.getName()));
+        customer.setEmailKey(customer.getEmail() == null ? null : normalize(customer.getEmail()));
+        customer.setPhoneKey(phoneKey(customer.getPhoneNumber()));
+        return customer;
+    }
+
+    /**
+     * Splits a search query into normalized terms.
+     *
+     * @param query the text typed by the user
+     * @return the distinct terms of at least {@link #MIN_TERM_LENGTH} characters, at most {@link #MAX_TERMS}
+     */
+    public static List<String> terms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        return Arrays.stream(TERM_SEPARATORS.split(normalize(query)))
+                .filter(term -> term.length() >= MIN_TERM_LENGTH)
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    /**
+     * Returns the digits of a phone number or search term.
+     *
+     * @param value the phone number or term
+     * @return the digits, or null when it has none
+     */
+    public static String phoneKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = NON_DIGITS.matcher(value).replaceAll("");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    private static List<String> nameKeys(String name) {
+        if (name == null) {
+            return null;
+        }
+        return Arrays.stream(WORD_SEPARATORS.split(normalize(name)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+}
@@ -0,0 +1,21 @@
+package com.sgi.customer.domain.model;
+
+/**
+ * Read model of a customer holding only what the product summaries show.
+ * Repositories load it with a projection, so the rest of the customer document is neither read nor decoded.
+ *
+ * @param id   the unique identifier of the customer
+ * @param name the name of the customer
+ */
+public record CustomerSummaryView(String id, String name) {
+
+    /**
+     * Builds the view of an already loaded customer.
+     *
+     * @param customer the customer
+     * @return the view holding its id and name
+     */
+    public static CustomerSummaryView of(Customer customer) {
+        return new CustomerSummaryView(customer.getId(), customer.getName());
+    }
+}
@@ -0,0 +1,60 @@
+package com.sgi.customer.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Customer event waiting to be delivered to the message broker.
+ * It is written in the same transaction as the customer change it describes and removed once delivered.
+ * A dispatcher claims a message by moving {@code lockedUntil} forward; a message whose claim expired
+ * without being delivered is claimed again, so delivery is at least once.
+ */
+@Setter
+@Getter
+@Builder
+@Document(collection = "customer_outbox")
+@AllArgsConstructor
+@NoArgsConstructor
+@CompoundIndex(def = "{'lockedUntil': 1, '_id': 1}", name = "lockedUntil_id_index")
+public class OutboxMessage {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+
+    @Id
+    private String id;
+    private String type;
+    private String customerId;
+    private Customer customer;
+    private Instant occurredAt;
+    private Instant lockedUntil;
+    private String claim;
+    private int attempts;
+
+    /**
+     * Creates a message ready to be claimed.
+     *
+     * @param type       the kind of change: CREATED, UPDATED or DELETED
+     * @param customerId the unique identifier of the changed customer
+     * @param customer   the state of the customer after the change, or null for deletions
+     * @return the new outbox message
+     */
+    public static OutboxMessage of(String type, String customerId, Customer customer) {
+        return OutboxMessage.builder()
+                .type(type)
+                .customerId(customerId)
+                .customer(customer)
+                .occurredAt(Instant.now())
+                .lockedUntil(Instant.EPOCH)
+                .build();
+    }
+}
@@ -1,11 +1,21 @@
 package com.sgi.customer.domain.ports.in;
 
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.infrastructure.dto.CustomerBatchDeleteResponse;
+import com.sgi.customer.infrastructure.dto.CustomerBatchResponse;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.dto.CustomerPatchRequest;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
 import com.sgi.customer.infrastructure.dto.SummaryResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Service interface for handling customer-related operations.
  * Provides methods for creating, retrieving, updating, and deleting customers.
@@ -16,13 +26,31 @@ public interface CustomerService {
 
     Mono<CustomerResponse> createCustomer(Mono<CustomerRequest> customer);
 
+    Mono<CustomerBatchResponse> createCustomers(Flux<CustomerRequest> customers);
+
     Mono<Void> deleteCustomer(String id);
 
-    Flux<CustomerResponse> getAllCustomers();
+    Mono<CustomerBatchDeleteResponse> deleteCustomers(List<String> customerIds);
+
+    Flux<CustomerResponse> getAllCustomers(Integer limit, String after, CustomerFilter filter, CustomerFields fields);
+
+    Flux<CustomerResponse> searchCustomers(String query, Integer limit, Integer offset, CustomerFields fields);
+
+    Mono<CustomerStats> getCustomerStats();
 
-    Mono<CustomerResponse> getCustomerById(String id);
+    Mono<CustomerResponse> getCustomerById(String id, CustomerFields fields);
 
     Mono<CustomerResponse> updateCustomer(String id, Mono<CustomerRequest> customer);
 
-    Mono<SummaryResponse> getCustomerSummary(String customerId);
+    Mono<CustomerResponse> patchCustomer(String id, Mono<CustomerPatchRequest> changes);
+
+    Mono<SummaryResponse> getCustomerSummary(String customerId, boolean allowPartial);
+
+    Flux<SummaryResponse> getCustomerSummaries(List<String> customerIds, boolean allowPartial);
+
+    Flux<CustomerSummaryItem> streamCustomerSummary(String customerId, boolean allowPartial);
+
+    Mono<Void> evictCustomerSummary(String customerId);
+
+    Flux<CustomerChangeEvent> getCustomerChanges();
 }
@@ -0,0 +1,16 @@
+package com.sgi.customer.domain.ports.out;
+
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import reactor.core.publisher.Flux;
+
+/**
+ * Live feed of customer changes for the clients connected to this instance.
+ */
+public interface CustomerChangeFeed {
+    /**
+     * Subscribes to the customer changes published from now on.
+     *
+     * @return an infinite Flux of customer change events
+     */
+    Flux<CustomerChangeEvent> changes();
+}
@@ -0,0 +1,18 @@
+package com.sgi.customer.domain.ports.out;
+
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import reactor.core.publisher.Mono;
+
+/**
+ * Destination of the customer change events read from the database.
+ * Every registered sink receives every event, so brokers can be added without touching the listener.
+ */
+public interface CustomerChangeSink {
+    /**
+     * Publishes a customer change.
+     *
+     * @param event the created, updated or deleted customer
+     * @return a Mono completing once the sink accepted the event
+     */
+    Mono<Void> publish(CustomerChangeEvent event);
+}
@@ -0,0 +1,21 @@
+package com.sgi.customer.domain.ports.out;
+
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Message broker receiving the customer events drained from the outbox.
+ * Implementations must only complete once the broker acknowledged the whole batch; a failed batch is
+ * delivered again, so consumers have to tolerate duplicates.
+ */
+public interface CustomerEventPublisher {
+    /**
+     * Publishes a batch of customer events, in order.
+     *
+     * @param events the events to publish
+     * @return a Mono completing once every event was acknowledged
+     */
+    Mono<Void> publish(List<CustomerChangeEvent> events);
+}
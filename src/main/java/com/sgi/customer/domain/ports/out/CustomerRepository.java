@@ -1,10 +1,17 @@
 package com.sgi.customer.domain.ports.out;
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSummaryView;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Repository interface defining operations to manage customers.
  */
@@ -17,18 +24,76 @@ public interface CustomerRepository {
      */
     Mono<CustomerResponse> save(Customer customer);
     /**
-     * Deletes a customer from the repository.
+     * Inserts several customers with a single unordered bulk write.
+     * A failing insert does not prevent the remaining customers from being stored.
+     *
+     * @param customers the customers to insert
+     * @return a Flux with one result per customer, indexed by its position in the list
+     */
+    Flux<CustomerBatchItemResult> insertAll(List<Customer> customers);
+    /**
+     * Replaces every field of an existing customer in a single atomic update, without upserting.
+     *
+     * @param customer the new state of the customer, identified by its ID
+     * @return a Mono containing the updated customer or empty if not found
+     */
+    Mono<Customer> replace(Customer customer);
+    /**
+     * Changes the non-null fields of an existing customer in a single atomic update.
+     *
+     * @param changes         the fields to change, identified by the customer ID
+     * @param expectedVersion the version the customer must be at, or null to update any version
+     * @return a Mono containing the updated customer, empty if not found, or failing when the version does not match
+     */
+    Mono<Customer> update(Customer changes, Long expectedVersion);
+    /**
+     * Deletes a customer from the repository with a single removal.
+     *
+     * @param id the unique identifier of the customer
+     * @return a Mono emitting true when the customer existed and was deleted
+     */
+    Mono<Boolean> deleteById(String id);
+    /**
+     * Deletes the customers with the given IDs with a single removal.
      *
-     * @param customer the customer information to delete
-     * @return a Mono representing the deletion operation
+     * @param ids the unique identifiers of the customers
+     * @return a Mono emitting the number of deleted customers
      */
-    Mono<Void> delete(Customer customer);
+    Mono<Long> deleteAllById(List<String> ids);
     /**
      * Retrieves all available customers.
      *
      * @return a Flux containing all credit responses
      */
     Flux<CustomerResponse> findAll();
+    /**
+     * Retrieves the selected fields of the customers matching an index-backed filter, ordered by id.
+     * Only the selected fields are read from the database.
+     *
+     * @param filter the filter criteria, {@link CustomerFilter#NONE} for every customer, see
+     *               {@link CustomerFilter#isSupported()}
+     * @param after  the id of the last customer of the previous page, or null for the first page
+     * @param limit  the maximum number of customers to return, or null to return every match
+     * @param fields the fields to read
+     * @return a Flux containing the matching customer responses, holding only the selected fields
+     */
+    Flux<CustomerResponse> findAll(CustomerFilter filter, String after, Integer limit, CustomerFields fields);
+    /**
+     * Searches the customers whose name words, email or phone number start with every term, best matches first.
+     *
+     * @param terms  the normalized search terms, see {@link com.sgi.customer.domain.model.CustomerSearchKeys#terms}
+     * @param offset the number of ranked results to skip
+     * @param limit  the maximum number of customers to return
+     * @param fields the fields to read
+     * @return a Flux containing at most {@code limit} customer responses ordered by relevance
+     */
+    Flux<CustomerResponse> search(List<String> terms, int offset, int limit, CustomerFields fields);
+    /**
+     * Counts the customers in total, by type and by profile, without reading them into the application.
+     *
+     * @return a Mono emitting the statistics
+     */
+    Mono<CustomerStats> stats();
     /**
      * Finds a Customer by its ID.
      *
@@ -36,4 +101,33 @@ public interface CustomerRepository {
      * @return a Mono containing the found Transaction or empty if not found
      */
     Mono<Customer> findById(String id);
+    /**
+     * Finds the selected fields of a Customer by its ID, reading only those fields from the database.
+     *
+     * @param id     the unique identifier of the customer
+     * @param fields the fields to read
+     * @return a Mono containing the customer response holding only the selected fields, or empty if not found
+     */
+    Mono<CustomerResponse> findById(String id, CustomerFields fields);
+    /**
+     * Finds the id and name of a Customer by its ID, without reading the rest of the document.
+     *
+     * @param id the unique identifier of the customer
+     * @return a Mono containing the summary view or empty if not found
+     */
+    Mono<CustomerSummaryView> findSummaryViewById(String id);
+    /**
+     * Finds the customers with the given IDs in a single query.
+     *
+     * @param ids the unique identifiers of the customers
+     * @return a Flux containing the customers found, in no particular order
+     */
+    Flux<Customer> findAllById(List<String> ids);
+    /**
+     * Finds the id and name of the customers with the given IDs in a single query.
+     *
+     * @param ids the unique identifiers of the customers
+     * @return a Flux containing the summary views found, in no particular order
+     */
+    Flux<CustomerSummaryView> findSummaryViewsById(List<String> ids);
 }
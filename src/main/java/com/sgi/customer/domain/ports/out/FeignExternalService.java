@@ -6,8 +6,10 @@ import reactor.core.publisher.Mono;
 /**
  * Interface for making reactive POST and GET HTTP requests to external services.
  * Defines methods for sending and receiving data asynchronously using Mono and Flux.
+ * The {@code service} argument names the target service (for example {@code account-service}) and selects
+ * its own circuit breaker, timeout and concurrency limit.
  */
 public interface FeignExternalService {
-    <T, R> Mono<R> post(String url, T requestBody, Class<R> responseType);
-    <R> Publisher<R> get(String url, String pathVariable, Class<R> responseType, boolean isFlux);
+    <T, R> Mono<R> post(String service, String url, T requestBody, Class<R> responseType);
+    <R> Publisher<R> get(String service, String url, String pathVariable, Class<R> responseType, boolean isFlux);
 }
@@ -10,10 +10,54 @@ import java.util.Map;
  */
 public class Constants {
 
-    public static final String EXTERNAL_REQUEST_SUCCESS_FORMAT = "Request to {} succeeded: {}";
-    public static final String EXTERNAL_REQUEST_ERROR_FORMAT = "Error during request to {}";
+    public static final String EXTERNAL_REQUEST_LOG_FORMAT =
+            "external_call service={} url={} status={} outcome={} latency_ms={} elements={}";
+    public static final String EXTERNAL_REQUEST_ERROR_FORMAT =
+            "external_call service={} url={} status={} outcome=error latency_ms={} elements={} error={}";
+    public static final String EXTERNAL_RESPONSE_BODY_FORMAT = "external_call url={} body={}";
+    public static final String SUMMARY_SOURCE_MISSING_FORMAT = "Summary source {} left out: {}";
+    public static final String SUMMARY_REFRESH_ERROR_FORMAT = "Summary refresh of customer {} failed: {}";
+    public static final String SUMMARY_FALLBACK_FORMAT = "Serving last good summary of customer {}: {}";
+    public static final String SUMMARY_GROUP_FALLBACK_FORMAT = "Summary group {} failed, falling back per customer: {}";
+    public static final String INDEX_CREATION_ERROR_FORMAT = "Index {} of collection {} could not be created: {}";
+    public static final String INDEX_MISSING_FORMAT = "Collection {} is missing the indexes {}";
+    public static final String CHANGE_STREAM_ERROR_FORMAT = "Change stream of collection {} failed, reopening (attempt {}): {}";
+    public static final String CHANGE_CHECKPOINT_ERROR_FORMAT = "Checkpoint of change stream could not be stored in {}: {}";
+    public static final String SEARCH_BACKFILL_FORMAT = "Search keys backfilled for {} customers";
+    public static final String SEARCH_BACKFILL_ERROR_FORMAT = "Search keys backfill stopped after {} customers: {}";
+    public static final String STATS_COUNTERS_ERROR_FORMAT = "Customer stats counters could not be built: {}";
+    public static final String BLOCKING_REPOSITORY_FORMAT = "Blocking customer repository runs on {}";
+    public static final String REMOTE_CACHE_ERROR_FORMAT = "Remote customer cache {} failed: {}";
+    public static final String REMOTE_CACHE_IN_MEMORY_WARNING =
+            "Remote customer cache is enabled without a shared cache: entries and invalidations stay in this instance";
+    public static final String CHANGE_PUBLISH_ERROR_FORMAT = "Change of customer {} could not be published to {}: {}";
+    public static final String REPOSITORY_TIMER = "customer.repository";
+    public static final String MISSING_INDEXES_GAUGE = "customer.mongo.indexes.missing";
+    public static final String CACHE_HIT_RATIO_GAUGE = "customer.cache.hit.ratio";
+    public static final String DOWNSTREAM_TIMER = "customer.downstream";
+    public static final String DOWNSTREAM_ITEMS = "customer.downstream.items";
+    public static final String DOWNSTREAM_HEDGES = "customer.downstream.hedges";
+    public static final String DOWNSTREAM_RETRIES = "customer.downstream.retries";
+    public static final String SUMMARY_TIMER = "customer.summary";
+    public static final String SUMMARY_PRODUCTS = "customer.summary.products";
+    public static final String SUMMARY_COALESCED = "customer.summary.coalesced";
+    public static final String OUTBOX_BATCH = "customer.outbox.batch";
+    public static final String ACCOUNT_SERVICE = "account-service";
+    public static final String CARD_SERVICE = "card-service";
+    public static final String CREDIT_SERVICE = "credit-service";
     public static final String KAFKA_MESSAGE = "Mensaje enviado: {}";
     public static final String ERROR_KAFKA_MESSAGE = "Error al enviar mensaje: ";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int BATCH_CHUNK_SIZE = 1000;
+    public static final int BATCH_CONCURRENCY = 4;
+    public static final int MAX_CREATE_BATCH_SIZE = 10_000;
+    public static final int MAX_SUMMARY_BATCH_SIZE = 500;
+    public static final int MAX_DELETE_BATCH_SIZE = 1000;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+    public static final int MAX_SEARCH_RESULTS = 1000;
+    public static final int DUPLICATE_KEY_ERROR_CODE = 11000;
 
     /**
      * Builds a URL with query parameters from the provided base domain, endpoint, and parameters map.
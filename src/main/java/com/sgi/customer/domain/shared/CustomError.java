@@ -15,7 +15,16 @@ public enum CustomError {
 
     E_CUSTOMER_NOT_FOUND(new ApiError(HttpStatus.NOT_FOUND, "CUSTOMER-001", "Customer not found")),
     E_OPERATION_FAILED(new ApiError(HttpStatus.INTERNAL_SERVER_ERROR, "CUSTOMER-000", "Operation failed")),
-    E_MALFORMED_ACCOUNT_DATA(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-002", "Malformed account data"));
+    E_MALFORMED_ACCOUNT_DATA(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-002", "Malformed account data")),
+    E_DUPLICATE_DOCUMENT(new ApiError(HttpStatus.CONFLICT, "CUSTOMER-003", "Customer document already registered")),
+    E_SERVICE_UNAVAILABLE(new ApiError(HttpStatus.SERVICE_UNAVAILABLE, "CUSTOMER-004", "Downstream service unavailable")),
+    E_BATCH_TOO_LARGE(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-005", "Too many customers in batch")),
+    E_UNSUPPORTED_FILTER(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-006", "Unsupported filter combination")),
+    E_VERSION_CONFLICT(new ApiError(HttpStatus.CONFLICT, "CUSTOMER-007", "Customer was modified by another request")),
+    E_EMPTY_UPDATE(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-008", "No fields to update")),
+    E_RESPONSE_TOO_LARGE(new ApiError(HttpStatus.BAD_GATEWAY, "CUSTOMER-009", "Downstream response exceeds the allowed size")),
+    E_INVALID_SEARCH(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-010", "Invalid search query or page")),
+    E_UNSUPPORTED_FIELDS(new ApiError(HttpStatus.BAD_REQUEST, "CUSTOMER-011", "Unsupported customer fields"));
 
     private final ApiError error;
 }
@@ -0,0 +1,94 @@
+package com.sgi.customer.infrastructure.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stand-in of the remote cache kept in the memory of this instance, for tests and single instance runs.
+ * Several local caches sharing it behave as instances sharing a Redis server: values written by one are read
+ * by the others and invalidations published by one reach all of them. Separate instances of the service do not
+ * share it, so it is only registered when no other {@link RemoteCache} is.
+ */
+@Component
+@ConditionalOnMissingBean(RemoteCache.class)
+public class InMemoryRemoteCache implements RemoteCache {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Sinks.Many<String>> channels = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<String> get(String key) {
+        return Mono.fromSupplier(() -> read(key));
+    }
+
+    @Override
+    public Mono<Map<String, String>> mget(Collection<String> keys) {
+        return Mono.fromSupplier(() -> {
+            Map<String, String> values = new LinkedHashMap<>();
+            keys.forEach(key -> {
+                String value = read(key);
+                if (value != null) {
+                    values.put(key, value);
+                }
+            });
+            return values;
+        });
+    }
+
+    @Override
+    public Mono<Boolean> setIfAbsent(String key, String value, Duration ttl) {
+        return Mono.fromSupplier(() -> {
+            Entry entry = new Entry(value, System.nanoTime() + ttl.toNanos());
+            return entries.merge(key, entry, (current, added) -> current.isExpired() ? added : current) == entry;
+        });
+    }
+
+    @Override
+    public Mono<Void> del(Collection<String> keys) {
+        return Mono.fromRunnable(() -> keys.forEach(entries::remove));
+    }
+
+    @Override
+    public Mono<Void> publish(String channel, String message) {
+        return Mono.fromRunnable(() -> channel(channel).tryEmitNext(message));
+    }
+
+    @Override
+    public Flux<String> subscribe(String channel) {
+        return channel(channel).asFlux();
+    }
+
+    private String read(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private Sinks.Many<String> channel(String channel) {
+        return channels.computeIfAbsent(channel, name -> Sinks.many().multicast().directBestEffort());
+    }
+
+    private record Entry(String value, long expiresAt) {
+
+        boolean isExpired() {
+            return expiresAt - System.nanoTime() <= 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.sgi.customer.infrastructure.cache;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Cache shared by every instance of the service, second tier behind the local cache of each instance.
+ * The operations mirror the Redis commands {@code GET}, {@code MGET}, {@code SET NX PX}, {@code DEL},
+ * {@code PUBLISH} and {@code SUBSCRIBE}, so a Redis client adapter only has to forward them; once registered
+ * as a bean it replaces {@link InMemoryRemoteCache}.
+ */
+public interface RemoteCache {
+
+    /**
+     * Reads a value.
+     *
+     * @param key the key
+     * @return a Mono emitting the value, or empty when the key is missing or expired
+     */
+    Mono<String> get(String key);
+
+    /**
+     * Reads several values in one round trip.
+     *
+     * @param keys the keys
+     * @return a Mono emitting the values found, keyed by their key
+     */
+    Mono<Map<String, String>> mget(Collection<String> keys);
+
+    /**
+     * Writes a value that expires after the given time, unless the key already holds one.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param ttl   the time to live of the value
+     * @return a Mono emitting whether the value was written
+     */
+    Mono<Boolean> setIfAbsent(String key, String value, Duration ttl);
+
+    /**
+     * Removes values.
+     *
+     * @param keys the keys
+     * @return a Mono completing once the values are removed
+     */
+    Mono<Void> del(Collection<String> keys);
+
+    /**
+     * Sends a message to every current subscriber of a channel, on every instance.
+     *
+     * @param channel the channel
+     * @param message the message
+     * @return a Mono completing once the message is sent
+     */
+    Mono<Void> publish(String channel, String message);
+
+    /**
+     * Subscribes to the messages sent to a channel from now on.
+     *
+     * @param channel the channel
+     * @return an infinite Flux of the messages
+     */
+    Flux<String> subscribe(String channel);
+}
@@ -0,0 +1,103 @@
+package com.sgi.customer.infrastructure.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientFactory;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.sgi.customer.domain.shared.Constants.BLOCKING_REPOSITORY_FORMAT;
+
+/**
+ * Registers the synchronous MongoDB client, the scheduler and the transactions of the blocking customer
+ * repository adapter.
+ * Only active with {@code customer.repository.adapter=blocking}; the reactive adapter never opens the pool and
+ * monitor threads of a synchronous client.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "customer.repository.adapter", havingValue = "blocking")
+public class BlockingRepositoryConfig {
+
+    private static final String SCHEDULER_NAME = "customer-repository";
+
+    private static final int VIRTUAL_THREADS_VERSION = 21;
+
+    /**
+     * Creates the client of the synchronous driver, configured from the same {@code spring.data.mongodb}
+     * settings as the reactive one. Spring Boot builds the synchronous template and database factory on it.
+     *
+     * @param builderCustomizers the customizers of the client settings
+     * @param settings           the base client settings
+     * @return the client
+     */
+    @Bean
+    @ConditionalOnMissingBean(MongoClient.class)
+    public MongoClient mongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> builderCustomizers,
+                                   MongoClientSettings settings) {
+        return new MongoClientFactory(builderCustomizers.orderedStream().toList()).createMongoClient(settings);
+    }
+
+    /**
+     * Creates the scheduler the blocking calls run on, so they never block the event loop.
+     * Virtual threads are looked up at runtime because the application is built for Java 17.
+     *
+     * @param properties the repository settings
+     * @return the scheduler
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler customerRepositoryScheduler(RepositoryProperties properties) {
+        RepositoryProperties.BlockingSettings blocking = properties.getBlocking();
+        if (blocking.isVirtualThreads() && Runtime.version().feature() >= VIRTUAL_THREADS_VERSION) {
+            try {
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+                log.info(BLOCKING_REPOSITORY_FORMAT, "virtual threads");
+                return Schedulers.fromExecutorService(executor, SCHEDULER_NAME);
+            } catch (ReflectiveOperationException ex) {
+                log.warn(BLOCKING_REPOSITORY_FORMAT, "platform threads, virtual threads unavailable: " + ex);
+            }
+        }
+        log.info(BLOCKING_REPOSITORY_FORMAT, blocking.getMaxThreads() + " platform threads");
+        return Schedulers.newBoundedElastic(blocking.getMaxThreads(), blocking.getMaxQueuedCalls(), SCHEDULER_NAME);
+    }
+
+    /**
+     * Creates the transaction manager of the synchronous driver, used to write customers and their outbox
+     * events atomically.
+     *
+     * @param databaseFactory the MongoDB database factory of the synchronous driver
+     * @return the transaction manager
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customer.outbox.enabled", havingValue = "true")
+    public MongoTransactionManager customerMongoTransactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    /**
+     * Creates the template that runs a blocking customer write and its outbox events in one transaction.
+     *
+     * @param transactionManager the transaction manager of the synchronous driver
+     * @return the transaction template
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customer.outbox.enabled", havingValue = "true")
+    public TransactionTemplate customerTransactionTemplate(MongoTransactionManager transactionManager) {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the customer cache: a local cache on every instance and an optional remote tier shared by all.
+ * Writes remove the customer from the remote tier and broadcast its id, so every instance drops its local copy.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.cache")
+public class CacheProperties {
+
+    /** Whether lookups by id are cached. */
+    private boolean enabled = true;
+
+    /** Maximum number of customers in the local cache. */
+    private long maximumSize = 10_000;
+
+    /** Time a customer stays in the local cache. */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Cache shared by every instance. */
+    private RemoteSettings remote = new RemoteSettings();
+
+    /**
+     * Remote tier of the customer cache.
+     * Loads only fill missing entries and writes remove the entry twice, right away and after the invalidation
+     * delay, so a customer read concurrently with a write is served stale for at most that delay.
+     */
+    @Data
+    public static class RemoteSettings {
+
+        /**
+         * Whether local misses are looked up in the remote cache before the database.
+         * Across instances it needs a shared {@code RemoteCache} bean, such as a Redis adapter.
+         */
+        private boolean enabled = false;
+
+        /** Time a customer stays in the remote cache. */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /** Prefix of the remote cache keys, followed by the customer id. */
+        private String keyPrefix = "customer:";
+
+        /** Channel the ids of written customers are broadcast on. */
+        private String invalidationChannel = "customer-cache-invalidations";
+
+        /** Time after a write at which its customers are removed again; longer than a load from the database. */
+        private Duration invalidationDelay = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the customer change stream.
+ * The change stream needs MongoDB to run as a replica set, so it is disabled by default; on a standalone
+ * server it would keep retrying with backoff. While disabled the customer change feed emits nothing and
+ * no checkpoint is stored.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.changes")
+public class CustomerChangeProperties {
+
+    /** Whether the change stream is tailed and its events published. */
+    private boolean enabled = false;
+
+    /**
+     * Name of this replica. Every replica tails the stream for its own subscribers and keeps its own
+     * checkpoint under this name, so it must be unique and stable across restarts of the replica.
+     */
+    private String instanceId = "local";
+
+    /** How often the resume token of the last published event is stored. */
+    private Duration checkpointInterval = Duration.ofSeconds(5);
+
+    /** First wait before reopening a failed change stream. */
+    private Duration minBackoff = Duration.ofSeconds(1);
+
+    /** Longest wait before reopening a failed change stream. */
+    private Duration maxBackoff = Duration.ofSeconds(30);
+
+    /** Events buffered for each live subscriber before the oldest ones are dropped. */
+    private int subscriberBuffer = 256;
+}
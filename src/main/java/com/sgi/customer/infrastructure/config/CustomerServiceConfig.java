@@ -0,0 +1,13 @@
+package com.sgi.customer.infrastructure.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the configuration properties used by the customer application services.
+ */
+@Configuration
+@EnableConfigurationProperties({SummaryProperties.class, CustomerChangeProperties.class, StatsProperties.class,
+        RepositoryProperties.class, CacheProperties.class})
+public class CustomerServiceConfig {
+}
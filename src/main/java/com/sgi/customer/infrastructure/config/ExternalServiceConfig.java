@@ -0,0 +1,68 @@
+package com.sgi.customer.infrastructure.config;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.circuitbreaker.resilience4j.ReactiveResilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.sgi.customer.domain.shared.Constants.ACCOUNT_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CARD_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CREDIT_SERVICE;
+
+/**
+ * Configuration of the resilience primitives used for the external services.
+ * Registers one circuit breaker and time limiter per service and the registry holding their bulkheads.
+ * Circuit breaker state and bulkhead usage are published per service as {@code resilience4j.*} metrics.
+ */
+@Configuration
+@EnableConfigurationProperties(ExternalServiceProperties.class)
+public class ExternalServiceConfig {
+
+    /**
+     * Applies the per-service timeout and failure thresholds to the reactive circuit breaker factory.
+     *
+     * @param properties the external services settings
+     * @return the customizer of the circuit breaker factory
+     */
+    @Bean
+    public Customizer<ReactiveResilience4JCircuitBreakerFactory> externalServicesCircuitBreakerCustomizer(
+            ExternalServiceProperties properties) {
+        Set<String> services = new HashSet<>(List.of(ACCOUNT_SERVICE, CARD_SERVICE, CREDIT_SERVICE));
+        services.addAll(properties.getServices().keySet());
+        return factory -> services.forEach(service -> {
+            ExternalServiceProperties.ServiceSettings settings = properties.settings(service);
+            factory.configure(builder -> builder
+                    .timeLimiterConfig(TimeLimiterConfig.custom()
+                            .timeoutDuration(settings.getTimeout())
+                            .build())
+                    .circuitBreakerConfig(CircuitBreakerConfig.custom()
+                            .failureRateThreshold(settings.getFailureRateThreshold())
+                            .slidingWindowSize(settings.getSlidingWindowSize())
+                            .waitDurationInOpenState(settings.getWaitDurationInOpenState())
+                            .build()), service);
+        });
+    }
+
+    /**
+     * Registry of the per-service bulkheads, bound to the meter registry.
+     *
+     * @param meterRegistry the application meter registry
+     * @return the bulkhead registry
+     */
+    @Bean
+    public BulkheadRegistry externalServicesBulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+}
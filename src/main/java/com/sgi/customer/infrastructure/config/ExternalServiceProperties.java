@@ -0,0 +1,175 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resilience settings of the external services called through {@code FeignExternalService}.
+ * Each entry of {@code external.services} is keyed by service name (account-service, card-service, ...);
+ * services without an entry use the default values.
+ */
+@Data
+@ConfigurationProperties(prefix = "external")
+public class ExternalServiceProperties {
+
+    private static final ServiceSettings DEFAULTS = new ServiceSettings();
+
+    private Map<String, ServiceSettings> services = new HashMap<>();
+
+    private HttpClientSettings http = new HttpClientSettings();
+
+    private LoggingSettings logging = new LoggingSettings();
+
+    /**
+     * Returns the settings of the given service, falling back to the defaults when it is not configured.
+     *
+     * @param service the service name
+     * @return the settings to apply to calls to that service
+     */
+    public ServiceSettings settings(String service) {
+        return services.getOrDefault(service, DEFAULTS);
+    }
+
+    /**
+     * Circuit breaker, time limiter and bulkhead settings of a single service.
+     */
+    @Data
+    public static class ServiceSettings {
+
+        /** Maximum time a call may take before it is cancelled and counted as a failure. */
+        private Duration timeout = Duration.ofSeconds(2);
+
+        /** Maximum number of calls in flight; further calls are rejected immediately. */
+        private int maxConcurrentCalls = 100;
+
+        /** Failure percentage that opens the circuit breaker. */
+        private float failureRateThreshold = 50;
+
+        /** Number of calls used to compute the failure rate. */
+        private int slidingWindowSize = 20;
+
+        /** Time the circuit breaker stays open before letting trial calls through. */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /** Maximum number of elements of a list response; longer lists fail the call instead of being cut. */
+        private int maxElements = 10_000;
+
+        /** Hedged requests of the idempotent (GET) calls. */
+        private HedgeSettings hedge = new HedgeSettings();
+
+        /** Retries of the idempotent (GET) calls. */
+        private RetrySettings retry = new RetrySettings();
+    }
+
+    /**
+     * Hedged requests of a single service.
+     * When a call has not answered after the configured latency percentile of the service, a second
+     * identical call is sent to the same base URL and the first response wins.
+     * Hedging is off for every service; it adds the slowest share of the calls again to the load of the service,
+     * so turn it on per service with {@code external.services.<service>.hedge.enabled=true} once it can take it.
+     */
+    @Data
+    public static class HedgeSettings {
+
+        /** Whether slow calls are hedged. */
+        private boolean enabled = false;
+
+        /** Latency percentile of the recent successful calls after which the hedge is sent. */
+        private double percentile = 0.95;
+
+        /** Lower bound of the hedge delay, so fast services are not hedged on jitter. */
+        private Duration minDelay = Duration.ofMillis(20);
+
+        /** Upper bound of the hedge delay, also used until enough calls were observed. */
+        private Duration maxDelay = Duration.ofMillis(500);
+    }
+
+    /**
+     * Retries of a single service.
+     * Retries wait with jittered exponential backoff and are paid from a retry budget shared with the
+     * hedges: every call adds {@code budgetRatio} tokens, up to {@code budgetReserve}, and every retry or
+     * hedge takes one, so during an outage extra calls stay a small fraction of the regular traffic.
+     */
+    @Data
+    public static class RetrySettings {
+
+        /** Maximum number of retries of a failed call; 0 disables retries. */
+        private int maxRetries = 2;
+
+        /** Backoff before the first retry. */
+        private Duration minBackoff = Duration.ofMillis(50);
+
+        /** Maximum backoff between retries. */
+        private Duration maxBackoff = Duration.ofMillis(500);
+
+        /** Random fraction of the backoff added or removed, from 0 to 1. */
+        private double jitter = 0.5;
+
+        /** Retries and hedges earned by each call. */
+        private double budgetRatio = 0.1;
+
+        /** Retries and hedges allowed regardless of traffic, and the maximum the budget accumulates. */
+        private int budgetReserve = 10;
+    }
+
+    /**
+     * Connection pool and protocol settings of the HTTP client shared by all external services.
+     * Reactor Netty keeps one pool per remote host, so {@code maxConnections} is a per-host limit;
+     * {@code hostMaxConnections} overrides it for specific {@code host:port} entries.
+     */
+    @Data
+    public static class HttpClientSettings {
+
+        /** Maximum number of connections per remote host. */
+        private int maxConnections = 200;
+
+        /** Per-host overrides of the maximum number of connections, keyed by {@code host:port}. */
+        private Map<String, Integer> hostMaxConnections = new HashMap<>();
+
+        /** Maximum number of requests waiting for a connection; further requests fail immediately. */
+        private int pendingAcquireMaxCount = 500;
+
+        /** Maximum time a request waits for a connection from the pool. */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1);
+
+        /** Time after which an idle connection is closed. */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /** Maximum lifetime of a connection, so connections are recycled behind load balancers. */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /** Interval of the background eviction of idle and expired connections. */
+        private Duration evictionInterval = Duration.ofSeconds(30);
+
+        /** Maximum time to establish a connection. */
+        private Duration connectTimeout = Duration.ofSeconds(1);
+
+        /** Whether to request gzip responses and decompress them. */
+        private boolean compression = true;
+
+        /** Whether to talk HTTP/2 over cleartext, falling back to HTTP/1.1 when the server does not upgrade. */
+        private boolean h2c = false;
+
+        /** Maximum size of a response body; larger responses fail while they are read. */
+        private DataSize maxResponseSize = DataSize.ofMegabytes(16);
+    }
+
+    /**
+     * Request log of the external calls.
+     * Every call produces at most one entry; successful calls are sampled, failed calls are always logged.
+     */
+    @Data
+    public static class LoggingSettings {
+
+        /** Fraction of successful calls that are logged, from 0 (none) to 1 (all). */
+        private double sampleRate = 0.01;
+
+        /** Whether to log every response element at DEBUG level; meant for troubleshooting only. */
+        private boolean logBodies = false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.sgi.customer.infrastructure.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Registers the MongoDB transaction support used to write customers and their outbox events atomically,
+ * only when the outbox is enabled (see {@link OutboxProperties} for the replica set it needs).
+ */
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    /**
+     * Creates the reactive transaction manager of the customer database.
+     *
+     * @param databaseFactory the reactive MongoDB database factory
+     * @return the transaction manager
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customer.outbox.enabled", havingValue = "true")
+    public ReactiveMongoTransactionManager reactiveMongoTransactionManager(ReactiveMongoDatabaseFactory databaseFactory) {
+        return new ReactiveMongoTransactionManager(databaseFactory);
+    }
+
+    /**
+     * Creates the operator that runs a customer write and its outbox events in one transaction.
+     *
+     * @param transactionManager the reactive transaction manager
+     * @return the transactional operator
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customer.outbox.enabled", havingValue = "true")
+    public TransactionalOperator customerTransactionalOperator(ReactiveMongoTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
+}
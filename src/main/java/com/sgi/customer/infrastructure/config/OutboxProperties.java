@@ -0,0 +1,29 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the customer event outbox.
+ * Writing the outbox in the same transaction as the customer needs MongoDB to run as a replica set, so the
+ * outbox is disabled by default: on a standalone server every customer write would fail. While disabled
+ * writes run without a transaction and no customer event is recorded or delivered.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.outbox")
+public class OutboxProperties {
+
+    /** Whether customer writes record their events in the outbox and a dispatcher drains it. */
+    private boolean enabled = false;
+
+    /** Maximum number of events delivered to the broker in one batch. */
+    private int batchSize = 100;
+
+    /** Time the dispatcher waits for more events when the last batch was not full. */
+    private Duration linger = Duration.ofMillis(200);
+
+    /** Time a claimed batch stays reserved; undelivered events are claimed again after it. */
+    private Duration lease = Duration.ofSeconds(30);
+}
@@ -0,0 +1,47 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the adapter implementing the customer repository port.
+ * The reactive adapter is the default; the blocking one runs the synchronous MongoDB driver off the event loop.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.repository")
+public class RepositoryProperties {
+
+    /** Adapter of the customer repository port. */
+    private Adapter adapter = Adapter.REACTIVE;
+
+    /** Threads running the calls of the blocking adapter. */
+    private BlockingSettings blocking = new BlockingSettings();
+
+    /**
+     * Available adapters of the customer repository port.
+     */
+    public enum Adapter {
+        /** Reactive MongoDB driver, running on the event loop. */
+        REACTIVE,
+        /** Synchronous MongoDB driver, running on a dedicated scheduler. */
+        BLOCKING
+    }
+
+    /**
+     * Threads of the blocking adapter.
+     * On Java 21 or later every call runs on its own virtual thread, and concurrency is bounded by the MongoDB
+     * connection pool; on older runtimes calls share a bounded pool of platform threads.
+     */
+    @Data
+    public static class BlockingSettings {
+
+        /** Whether calls run on virtual threads when the runtime supports them. */
+        private boolean virtualThreads = true;
+
+        /** Maximum platform threads running calls when virtual threads are not used. */
+        private int maxThreads = 100;
+
+        /** Maximum calls waiting for a platform thread; further calls are rejected. */
+        private int maxQueuedCalls = 10_000;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the customer statistics.
+ * The counters change in the transaction of each customer write, so they need the outbox to be enabled.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.stats")
+public class StatsProperties {
+
+    /** Whether the statistics are kept in a counters document instead of being aggregated on every request. */
+    private boolean counters = false;
+}
@@ -0,0 +1,108 @@
+package com.sgi.customer.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of the customer product summary.
+ * In partial mode every source gets its own timeout, capped by the global deadline of the summary.
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.summary")
+public class SummaryProperties {
+
+    /** Maximum time a partial summary waits for its sources. */
+    private Duration deadline = Duration.ofMillis(800);
+
+    /** Timeout of each source keyed by service name; sources without an entry use the deadline. */
+    private Map<String, Duration> sourceTimeouts = new HashMap<>();
+
+    /** Per-customer cache of complete product summaries. */
+    private CacheSettings cache = new CacheSettings();
+
+    /** Fan-out of the batch summary endpoint. */
+    private BatchSettings batch = new BatchSettings();
+
+    /** Sharing of concurrent identical summary requests. */
+    private CoalesceSettings coalesce = new CoalesceSettings();
+
+    /**
+     * Returns the time the given source may take in partial mode.
+     *
+     * @param service the service name
+     * @return the source timeout, never longer than the deadline
+     */
+    public Duration timeout(String service) {
+        Duration timeout = sourceTimeouts.getOrDefault(service, deadline);
+        return timeout.compareTo(deadline) < 0 ? timeout : deadline;
+    }
+
+    /**
+     * Freshness windows of the product summary cache.
+     * Entries younger than {@code fresh} are served as is, entries younger than {@code stale} are served while
+     * being refreshed in the background, and older entries are only used as a fallback when loading fails.
+     */
+    @Data
+    public static class CacheSettings {
+
+        /** Age up to which a cached summary is served without contacting the sources. */
+        private Duration fresh = Duration.ofSeconds(30);
+
+        /** Age up to which a cached summary is served while it is refreshed in the background. */
+        private Duration stale = Duration.ofMinutes(5);
+
+        /** Time a summary is kept as last good snapshot for when the sources are unavailable. */
+        private Duration retention = Duration.ofHours(1);
+
+        /** Maximum number of customers kept in the cache. */
+        private long maximumSize = 10_000;
+    }
+
+    /**
+     * Fan-out of the batch summary.
+     * Services listed in {@code multiClientServices} accept a comma separated {@code clientIds} query parameter,
+     * so a whole group of customers is answered by one call; the other services get one call per customer.
+     */
+    @Data
+    public static class BatchSettings {
+
+        /** Maximum number of customer groups loaded at the same time. */
+        private int concurrency = 16;
+
+        /** Number of customers asked for in a single multi-client call. */
+        private int groupSize = 50;
+
+        /** Names of the services that support multi-client queries. */
+        private Set<String> multiClientServices = new HashSet<>();
+
+        /**
+         * Returns the number of customers loaded together.
+         *
+         * @return the group size, or one when no service supports multi-client queries
+         */
+        public int effectiveGroupSize() {
+            return multiClientServices.isEmpty() ? 1 : groupSize;
+        }
+    }
+
+    /**
+     * Single-flight of the summary endpoint.
+     * Concurrent requests for the same customer and mode share one computation; with a share window the
+     * result is also handed to requests arriving shortly after it completed.
+     */
+    @Data
+    public static class CoalesceSettings {
+
+        /** Whether concurrent requests for the same summary share one computation. */
+        private boolean enabled = true;
+
+        /** Time a completed summary is still handed to new identical requests; zero shares in-flight work only. */
+        private Duration shareWindow = Duration.ZERO;
+    }
+}
@@ -0,0 +1,104 @@
+package com.sgi.customer.infrastructure.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Configuration of the HTTP client used to call the external services.
+ * The connection pool is bounded per remote host, queues a limited number of pending acquisitions and
+ * evicts idle connections in the background. Pool usage is published as
+ * {@code reactor.netty.connection.provider.*} metrics (total, active, idle and pending connections).
+ * Response bodies are limited to {@code external.http.max-response-size}.
+ */
+@Configuration
+public class WebClientConfig {
+
+    private static final String POOL_NAME = "external-services";
+
+    /**
+     * Connection pool shared by the calls to all external services.
+     *
+     * @param properties the external services settings
+     * @return the connection provider
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider externalServicesConnectionProvider(ExternalServiceProperties properties) {
+        ExternalServiceProperties.HttpClientSettings http = properties.getHttp();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireMaxCount(http.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                .maxIdleTime(http.getMaxIdleTime())
+                .maxLifeTime(http.getMaxLifeTime())
+                .evictInBackground(http.getEvictionInterval())
+                .metrics(true);
+        http.getHostMaxConnections().forEach((host, maxConnections) -> builder.forRemoteHost(toAddress(host),
+                spec -> spec.maxConnections(maxConnections)));
+        return builder.build();
+    }
+
+    /**
+     * WebClient of the external services, built on the shared connection pool.
+     *
+     * @param webClientBuilder   the Spring Boot configured builder
+     * @param connectionProvider the external services connection pool
+     * @param properties         the external services settings
+     * @return the WebClient used by {@code FeignExternalServiceImpl}
+     */
+    @Bean
+    public WebClient externalServicesWebClient(WebClient.Builder webClientBuilder, ConnectionProvider connectionProvider,
+                                               ExternalServiceProperties properties) {
+        ExternalServiceProperties.HttpClientSettings http = properties.getHttp();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                .keepAlive(true)
+                .compress(http.isCompression());
+        if (http.isH2c()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        long maxResponseBytes = http.getMaxResponseSize().toBytes();
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(ExchangeFilterFunction.ofResponseProcessor(response ->
+                        Mono.just(limited(response, maxResponseBytes))))
+                .build();
+    }
+
+    /**
+     * Fails the body of a response once it exceeds the given size, releasing the buffer that crossed it.
+     * Streamed list responses are never held in memory as a whole, so this is the only bound on their size.
+     */
+    static ClientResponse limited(ClientResponse response, long maxBytes) {
+        return response.mutate()
+                .body(body -> {
+                    AtomicLong received = new AtomicLong();
+                    return body.doOnNext(buffer -> {
+                        if (received.addAndGet(buffer.readableByteCount()) > maxBytes) {
+                            DataBufferUtils.release(buffer);
+                            throw new DataBufferLimitException("Response body exceeds " + maxBytes + " bytes");
+                        }
+                    });
+                })
+                .build();
+    }
+
+    private static InetSocketAddress toAddress(String host) {
+        int separator = host.lastIndexOf(':');
+        return InetSocketAddress.createUnresolved(host.substring(0, separator),
+                Integer.parseInt(host.substring(separator + 1)));
+    }
+}
@@ -1,8 +1,18 @@
 package com.sgi.customer.infrastructure.controller;
 
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
 import com.sgi.customer.domain.ports.in.CustomerService;
+import com.sgi.customer.infrastructure.dto.CustomerBatchDeleteRequest;
+import com.sgi.customer.infrastructure.dto.CustomerBatchDeleteResponse;
+import com.sgi.customer.infrastructure.dto.CustomerBatchResponse;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.dto.CustomerPatchRequest;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryBatchRequest;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
 import com.sgi.customer.infrastructure.dto.SummaryResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +21,8 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 /**
  * Controller to handle operations related to customers.
  */
@@ -30,6 +42,13 @@ public class CustomerController implements V1Api {
                 .map(customerResponse -> ResponseEntity.status(HttpStatus.CREATED).body(customerResponse));
     }
 
+    @Override
+    public Mono<ResponseEntity<CustomerBatchResponse>> createCustomersBatch(Flux<CustomerRequest> customerRequest,
+                                                                            ServerWebExchange exchange) {
+        return customerService.createCustomers(customerRequest)
+                .map(batchResponse -> ResponseEntity.ok().body(batchResponse));
+    }
+
     @Override
     public Mono<ResponseEntity<Void>> deleteCustomer(String id, ServerWebExchange exchange) {
         return customerService.deleteCustomer(id)
@@ -37,27 +56,89 @@ public class CustomerController implements V1Api {
     }
 
     @Override
-    public Mono<ResponseEntity<Flux<CustomerResponse>>> getAllCustomers(ServerWebExchange exchange) {
-        return Mono.fromSupplier(() -> ResponseEntity.ok().body(customerService.getAllCustomers()));
+    public Mono<ResponseEntity<CustomerBatchDeleteResponse>> deleteCustomersBatch(
+            Mono<CustomerBatchDeleteRequest> customerBatchDeleteRequest, ServerWebExchange exchange) {
+        return customerBatchDeleteRequest
+                .flatMap(request -> customerService.deleteCustomers(request.getCustomerIds()))
+                .map(batchResponse -> ResponseEntity.ok().body(batchResponse));
     }
 
     @Override
-    public Mono<ResponseEntity<CustomerResponse>> getCustomerById(String id, ServerWebExchange exchange) {
-        return customerService.getCustomerById(id)
+    public Mono<ResponseEntity<Flux<CustomerResponse>>> getAllCustomers(Integer limit, String after, String documentId,
+                                                                        String email, String type, String profile,
+                                                                        List<String> fields,
+                                                                        ServerWebExchange exchange) {
+        CustomerFilter filter = new CustomerFilter(documentId, email, type, profile);
+        return Mono.fromSupplier(() -> ResponseEntity.ok().body(customerService.getAllCustomers(limit, after, filter,
+                CustomerFields.of(fields))));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<CustomerResponse>>> searchCustomers(String q, Integer limit, Integer offset,
+                                                                        List<String> fields,
+                                                                        ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok().body(customerService.searchCustomers(q, limit, offset,
+                CustomerFields.of(fields))));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CustomerStats>> getCustomerStats(ServerWebExchange exchange) {
+        return customerService.getCustomerStats()
+                .map(stats -> ResponseEntity.ok().body(stats));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> evictCustomerSummary(String customerId, ServerWebExchange exchange) {
+        return customerService.evictCustomerSummary(customerId)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<CustomerChangeEvent>>> getCustomerChanges(ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok().body(customerService.getCustomerChanges()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CustomerResponse>> getCustomerById(String id, List<String> fields,
+                                                                  ServerWebExchange exchange) {
+        return customerService.getCustomerById(id, CustomerFields.of(fields))
                 .map(customerResponse -> ResponseEntity.ok().body(customerResponse));
     }
 
     @Override
-    public Mono<ResponseEntity<SummaryResponse>> getCustomerSummary(String customerId, ServerWebExchange exchange) {
-        return customerService.getCustomerSummary(customerId)
+    public Mono<ResponseEntity<SummaryResponse>> getCustomerSummary(String customerId, Boolean partial,
+                                                                    ServerWebExchange exchange) {
+        return customerService.getCustomerSummary(customerId, Boolean.TRUE.equals(partial))
                 .map(customerResponse -> ResponseEntity.ok().body(customerResponse));
     }
 
+    @Override
+    public Mono<ResponseEntity<Flux<CustomerSummaryItem>>> streamCustomerSummary(String customerId, Boolean partial,
+                                                                                ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok().body(customerService.streamCustomerSummary(customerId,
+                Boolean.TRUE.equals(partial))));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<SummaryResponse>>> getCustomerSummaries(
+            Mono<CustomerSummaryBatchRequest> customerSummaryBatchRequest, Boolean partial, ServerWebExchange exchange) {
+        return Mono.fromSupplier(() -> ResponseEntity.ok().body(customerSummaryBatchRequest
+                .flatMapMany(request -> customerService.getCustomerSummaries(request.getCustomerIds(),
+                        Boolean.TRUE.equals(partial)))));
+    }
+
     @Override
     public Mono<ResponseEntity<CustomerResponse>> updateCustomer(String id, Mono<CustomerRequest> customerRequest,
                                                                  ServerWebExchange exchange) {
         return customerService.updateCustomer(id, customerRequest)
                 .map(customerResponse -> ResponseEntity.ok().body(customerResponse));
     }
+
+    @Override
+    public Mono<ResponseEntity<CustomerResponse>> patchCustomer(String id, Mono<CustomerPatchRequest> customerPatchRequest,
+                                                                ServerWebExchange exchange) {
+        return customerService.patchCustomer(id, customerPatchRequest)
+                .map(customerResponse -> ResponseEntity.ok().body(customerResponse));
+    }
 }
 
@@ -0,0 +1,206 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.ports.out.CustomerChangeSink;
+import com.sgi.customer.infrastructure.config.CustomerChangeProperties;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.sgi.customer.domain.shared.Constants.CHANGE_CHECKPOINT_ERROR_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.CHANGE_PUBLISH_ERROR_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.CHANGE_STREAM_ERROR_FORMAT;
+
+/**
+ * Tails the MongoDB change stream of the customer collection and publishes every insert, update,
+ * replace and delete to the registered {@link CustomerChangeSink}s.
+ * The resume token of the last published event is stored periodically, so after a restart or a
+ * dropped connection the stream continues where it stopped instead of losing changes.
+ * Every replica tails the stream itself, because the sinks fan out to the subscribers of that replica, and
+ * keeps its own checkpoint keyed by {@code customer.changes.instance-id}. The token only advances once every
+ * sink accepted the event: a sink failure reopens the stream after the last accepted event, so sinks receive
+ * each change at least once.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customer.changes.enabled", havingValue = "true")
+public class CustomerChangeStreamListener {
+
+    static final String CHECKPOINT_COLLECTION = "customer_change_checkpoint";
+
+    private static final String TOKEN_FIELD = "token";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String CHECKPOINT_SEPARATOR = ":";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final List<CustomerChangeSink> sinks;
+    private final CustomerChangeProperties properties;
+    private final AtomicReference<BsonValue> lastToken = new AtomicReference<>();
+    private final AtomicReference<BsonValue> storedToken = new AtomicReference<>();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public CustomerChangeStreamListener(ReactiveMongoTemplate mongoTemplate, List<CustomerChangeSink> sinks,
+                                        CustomerChangeProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.sinks = sinks;
+        this.properties = properties;
+    }
+
+    /**
+     * Starts tailing the change stream and storing its checkpoints once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscriptions.add(listen().subscribe(lastToken::set));
+        subscriptions.add(Flux.interval(properties.getCheckpointInterval())
+                .concatMap(tick -> checkpoint())
+                .subscribe());
+    }
+
+    /**
+     * Stops tailing the change stream, storing the last checkpoint.
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+        checkpoint().block(properties.getCheckpointInterval());
+    }
+
+    /**
+     * Opens the change stream after the last known resume token and publishes its events.
+     * Failures, including an event a sink rejected, reopen the stream after the last accepted event with
+     * exponential backoff.
+     *
+     * @return a Flux emitting the resume token of every published event
+     */
+    Flux<BsonValue> listen() {
+        String collection = mongoTemplate.getCollectionName(Customer.class);
+        return Mono.defer(() -> Mono.justOrEmpty(lastToken.get()))
+                .switchIfEmpty(Mono.defer(this::loadToken))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(token -> mongoTemplate.changeStream(Customer.class)
+                        .withOptions(options -> {
+                            options.fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+                            token.ifPresent(options::resumeAfter);
+                        })
+                        .watchCollection(collection)
+                        .listen())
+                .concatMap(event -> Mono.justOrEmpty(toChangeEvent(event))
+                        .flatMap(this::publish)
+                        .then(Mono.justOrEmpty(event.getResumeToken())))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, properties.getMinBackoff())
+                        .maxBackoff(properties.getMaxBackoff())
+                        .doBeforeRetry(signal -> log.warn(CHANGE_STREAM_ERROR_FORMAT, collection,
+                                signal.totalRetries() + 1, signal.failure().toString())));
+    }
+
+    /**
+     * Stores the resume token of the last published event, if it changed since the last checkpoint.
+     *
+     * @return a Mono completing once the token is stored
+     */
+    Mono<Void> checkpoint() {
+        BsonValue token = lastToken.get();
+        if (token == null || token.equals(storedToken.get())) {
+            return Mono.empty();
+        }
+        return mongoTemplate.upsert(checkpointQuery(),
+                        Update.update(TOKEN_FIELD, token.asDocument().toJson()), CHECKPOINT_COLLECTION)
+                .doOnSuccess(result -> storedToken.set(token))
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn(CHANGE_CHECKPOINT_ERROR_FORMAT, CHECKPOINT_COLLECTION, ex.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<BsonValue> loadToken() {
+        return mongoTemplate.findOne(checkpointQuery(), Document.class, CHECKPOINT_COLLECTION)
+                .mapNotNull(document -> document.getString(TOKEN_FIELD))
+                .<BsonValue>map(BsonDocument::parse);
+    }
+
+    private Query checkpointQuery() {
+        return Query.query(Criteria.where(ID_FIELD).is(checkpointId()));
+    }
+
+    String checkpointId() {
+        return mongoTemplate.getCollectionName(Customer.class) + CHECKPOINT_SEPARATOR + properties.getInstanceId();
+    }
+
+    /**
+     * Hands an event to every sink, failing if any of them rejects it so its resume token is not stored.
+     *
+     * @param event the customer change
+     * @return a Mono completing once every sink accepted the event
+     */
+    Mono<Void> publish(CustomerChangeEvent event) {
+        return Flux.fromIterable(sinks)
+                .concatMap(sink -> sink.publish(event)
+                        .doOnError(ex -> log.warn(CHANGE_PUBLISH_ERROR_FORMAT, event.getCustomerId(),
+                                sink.getClass().getSimpleName(), ex.toString())))
+                .then();
+    }
+
+    static Optional<CustomerChangeEvent> toChangeEvent(ChangeStreamEvent<Customer> event) {
+        CustomerChangeEvent.TypeEnum type = type(event.getOperationType());
+        String customerId = Optional.ofNullable(event.getRaw())
+                .map(ChangeStreamDocument::getDocumentKey)
+                .map(key -> key.get(ID_FIELD))
+                .filter(BsonValue::isString)
+                .map(id -> id.asString().getValue())
+                .orElse(null);
+        if (type == null || customerId == null) {
+            return Optional.empty();
+        }
+        CustomerChangeEvent change = new CustomerChangeEvent(type, customerId);
+        if (type != CustomerChangeEvent.TypeEnum.DELETED && event.getBody() != null) {
+            change.customer(CustomerMapper.INSTANCE.toCustomerResponse(event.getBody()));
+        }
+        Optional.ofNullable(event.getTimestamp())
+                .map(timestamp -> timestamp.atOffset(ZoneOffset.UTC))
+                .ifPresent(change::occurredAt);
+        return Optional.of(change);
+    }
+
+    private static CustomerChangeEvent.TypeEnum type(OperationType operationType) {
+        if (operationType == null) {
+            return null;
+        }
+        return switch (operationType) {
+            case INSERT -> CustomerChangeEvent.TypeEnum.CREATED;
+            case UPDATE, REPLACE -> CustomerChangeEvent.TypeEnum.UPDATED;
+            case DELETE -> CustomerChangeEvent.TypeEnum.DELETED;
+            default -> null;
+        };
+    }
+}
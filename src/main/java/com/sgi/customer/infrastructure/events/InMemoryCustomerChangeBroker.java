@@ -0,0 +1,43 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.sgi.customer.domain.ports.out.CustomerChangeFeed;
+import com.sgi.customer.domain.ports.out.CustomerChangeSink;
+import com.sgi.customer.infrastructure.config.CustomerChangeProperties;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Broker that fans the customer changes out to the subscribers of this instance, such as the SSE clients.
+ * Publishing never blocks the change stream: each subscriber has its own bounded buffer and a slow
+ * subscriber loses its oldest events instead of holding back the others.
+ */
+@Component
+public class InMemoryCustomerChangeBroker implements CustomerChangeSink, CustomerChangeFeed {
+
+    private static final Duration EMIT_TIMEOUT = Duration.ofMillis(100);
+
+    private final Sinks.Many<CustomerChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    private final int subscriberBuffer;
+
+    public InMemoryCustomerChangeBroker(CustomerChangeProperties properties) {
+        this.subscriberBuffer = properties.getSubscriberBuffer();
+    }
+
+    @Override
+    public Mono<Void> publish(CustomerChangeEvent event) {
+        return Mono.fromRunnable(() -> sink.emitNext(event, Sinks.EmitFailureHandler.busyLooping(EMIT_TIMEOUT)));
+    }
+
+    @Override
+    public Flux<CustomerChangeEvent> changes() {
+        return sink.asFlux()
+                .onBackpressureBuffer(subscriberBuffer, BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
@@ -0,0 +1,42 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.sgi.customer.domain.ports.out.CustomerEventPublisher;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+
+import static com.sgi.customer.domain.shared.Constants.KAFKA_MESSAGE;
+
+/**
+ * Publisher that hands the outbox events to the subscribers of this instance instead of a broker.
+ * A broker publisher takes over by being registered as {@code @Primary}; this one also lets tests observe
+ * what the dispatcher delivers.
+ */
+@Slf4j
+@Component
+public class InMemoryCustomerEventPublisher implements CustomerEventPublisher {
+
+    private final Sinks.Many<CustomerChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+
+    @Override
+    public Mono<Void> publish(List<CustomerChangeEvent> events) {
+        return Mono.fromRunnable(() -> events.forEach(event -> {
+            log.debug(KAFKA_MESSAGE, event);
+            sink.tryEmitNext(event);
+        }));
+    }
+
+    /**
+     * Subscribes to the events published from now on.
+     *
+     * @return an infinite Flux of the published events
+     */
+    public Flux<CustomerChangeEvent> published() {
+        return sink.asFlux();
+    }
+}
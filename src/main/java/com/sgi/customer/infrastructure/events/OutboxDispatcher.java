@@ -0,0 +1,152 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.domain.ports.out.CustomerEventPublisher;
+import com.sgi.customer.infrastructure.config.OutboxProperties;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static com.sgi.customer.domain.shared.Constants.ERROR_KAFKA_MESSAGE;
+import static com.sgi.customer.domain.shared.Constants.OUTBOX_BATCH;
+
+/**
+ * Drains the customer outbox into the {@link CustomerEventPublisher} in batches.
+ * Every linger period the dispatcher claims the oldest unclaimed events, publishes them as one batch and
+ * removes them once the publisher acknowledged them; full batches are followed immediately by the next one.
+ * A batch that fails stays claimed until its lease expires and is then delivered again, so events are
+ * delivered at least once and several instances can drain the same outbox. Delivery is unordered: newer
+ * events are claimed while a failed batch waits for its lease, and with several writers the ids do not
+ * follow commit order, so consumers must not rely on the order of events of one customer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customer.outbox.enabled", havingValue = "true")
+public class OutboxDispatcher {
+
+    private static final String ID_FIELD = "id";
+    private static final String LOCKED_UNTIL_FIELD = "lockedUntil";
+    private static final String CLAIM_FIELD = "claim";
+    private static final String ATTEMPTS_FIELD = "attempts";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final CustomerEventPublisher publisher;
+    private final OutboxProperties properties;
+    private final MetricsRecorder metrics;
+    private Disposable subscription;
+
+    public OutboxDispatcher(ReactiveMongoTemplate mongoTemplate, CustomerEventPublisher publisher,
+                            OutboxProperties properties, MetricsRecorder metrics) {
+        this.mongoTemplate = mongoTemplate;
+        this.publisher = publisher;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts draining the outbox once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = Flux.interval(properties.getLinger())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain())
+                .subscribe();
+    }
+
+    /**
+     * Stops draining the outbox; claimed events not yet delivered are delivered after their lease.
+     */
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Dispatches batches until the outbox has no more claimable events than fit in one batch.
+     *
+     * @return a Mono emitting the number of delivered events
+     */
+    Mono<Long> drain() {
+        return dispatchBatch()
+                .expand(delivered -> delivered == properties.getBatchSize() ? dispatchBatch() : Mono.empty())
+                .reduce(0L, Long::sum)
+                .onErrorResume(ex -> {
+                    log.error(ERROR_KAFKA_MESSAGE + "{}", ex.toString());
+                    return Mono.just(0L);
+                });
+    }
+
+    /**
+     * Claims, publishes and removes one batch of outbox events.
+     *
+     * @return a Mono emitting the number of delivered events
+     */
+    Mono<Integer> dispatchBatch() {
+        Instant now = Instant.now();
+        String claim = UUID.randomUUID().toString();
+        Query candidates = Query.query(Criteria.where(LOCKED_UNTIL_FIELD).lte(now))
+                .with(Sort.by(Sort.Direction.ASC, ID_FIELD))
+                .limit(properties.getBatchSize());
+        candidates.fields().include(ID_FIELD);
+        return mongoTemplate.find(candidates, OutboxMessage.class)
+                .map(OutboxMessage::getId)
+                .collectList()
+                .filter(ids -> !ids.isEmpty())
+                .flatMap(ids -> mongoTemplate.updateMulti(
+                                Query.query(Criteria.where(ID_FIELD).in(ids).and(LOCKED_UNTIL_FIELD).lte(now)),
+                                new Update()
+                                        .set(LOCKED_UNTIL_FIELD, now.plus(properties.getLease()))
+                                        .set(CLAIM_FIELD, claim)
+                                        .inc(ATTEMPTS_FIELD, 1),
+                                OutboxMessage.class)
+                        .thenMany(mongoTemplate.find(claimed(ids, claim)
+                                .with(Sort.by(Sort.Direction.ASC, ID_FIELD)), OutboxMessage.class))
+                        .collectList())
+                .filter(claimed -> !claimed.isEmpty())
+                .flatMap(claimed -> publisher.publish(claimed.stream().map(OutboxDispatcher::toChangeEvent).toList())
+                        .then(mongoTemplate.remove(claimed(claimed.stream().map(OutboxMessage::getId).toList(), claim),
+                                OutboxMessage.class))
+                        .doOnSuccess(result -> metrics.recordSize(OUTBOX_BATCH, Tags.empty(), claimed.size()))
+                        .thenReturn(claimed.size()))
+                .defaultIfEmpty(0);
+    }
+
+    private static Query claimed(List<String> ids, String claim) {
+        return Query.query(Criteria.where(ID_FIELD).in(ids).and(CLAIM_FIELD).is(claim));
+    }
+
+    static CustomerChangeEvent toChangeEvent(OutboxMessage message) {
+        CustomerChangeEvent event = new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.fromValue(message.getType()),
+                message.getCustomerId());
+        if (message.getCustomer() != null) {
+            event.customer(CustomerMapper.INSTANCE.toCustomerResponse(message.getCustomer()));
+        }
+        if (message.getOccurredAt() != null) {
+            event.occurredAt(message.getOccurredAt().atOffset(ZoneOffset.UTC));
+        }
+        return event;
+    }
+}
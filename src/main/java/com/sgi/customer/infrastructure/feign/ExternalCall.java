@@ -0,0 +1,47 @@
+package com.sgi.customer.infrastructure.feign;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State of a single call to an external service, collected for its request log entry.
+ * The URL is reduced to its template, without query string, so customer identifiers are not logged.
+ */
+@Getter
+final class ExternalCall {
+
+    private final String service;
+    private final String urlTemplate;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong elements = new AtomicLong();
+    private volatile int status;
+    private volatile Throwable failure;
+
+    ExternalCall(String service, String url) {
+        this.service = service;
+        int query = url.indexOf('?');
+        this.urlTemplate = query < 0 ? url : url.substring(0, query);
+    }
+
+    void status(int statusCode) {
+        this.status = statusCode;
+    }
+
+    void element() {
+        elements.incrementAndGet();
+    }
+
+    void failed(Throwable ex) {
+        this.failure = ex;
+    }
+
+    long elementCount() {
+        return elements.get();
+    }
+
+    long latencyMillis() {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
@@ -2,68 +2,349 @@ package com.sgi.customer.infrastructure.feign;
 
 import com.sgi.customer.domain.ports.out.FeignExternalService;
 import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.config.ExternalServiceProperties;
 import com.sgi.customer.infrastructure.exception.CustomException;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.micrometer.core.instrument.Tags;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Publisher;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
 import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_HEDGES;
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_RETRIES;
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_TIMER;
 import static com.sgi.customer.domain.shared.Constants.EXTERNAL_REQUEST_ERROR_FORMAT;
-import static com.sgi.customer.domain.shared.Constants.EXTERNAL_REQUEST_SUCCESS_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.EXTERNAL_REQUEST_LOG_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.EXTERNAL_RESPONSE_BODY_FORMAT;
 
 /**
  * Implementación del servicio externo Feign para realizar solicitudes HTTP de manera reactiva con soporte de Circuit Breaker.
+ * Cada servicio destino tiene su propio circuit breaker, time limiter y bulkhead, de modo que un servicio lento
+ * no afecta a las llamadas hacia los demás.
+ * Las llamadas GET pueden cubrirse con una segunda solicitud (hedging) cuando la primera tarda más de lo habitual
+ * y se reintentan con backoff aleatorio, limitado por un presupuesto de reintentos por servicio.
+ * Las respuestas de tipo lista se emiten elemento a elemento mientras se leen, con límites de elementos y de tamaño.
  */
 @Slf4j
 @Service
 public class FeignExternalServiceImpl implements FeignExternalService {
 
+    private static final String SERVICE_TAG = "service";
+    private static final String RESULT_TAG = "result";
+
     private final WebClient webClient;
-    private final ReactiveCircuitBreaker circuitBreaker;
+    private final ReactiveCircuitBreakerFactory circuitBreakerFactory;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final ExternalServiceProperties properties;
+    private final MetricsRecorder metrics;
+    private final Map<String, ReactiveCircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, LatencyTracker> latencyTrackers = new ConcurrentHashMap<>();
+    private final Map<String, RetryBudget> retryBudgets = new ConcurrentHashMap<>();
 
-    public FeignExternalServiceImpl(WebClient.Builder webClientBuilder, ReactiveCircuitBreakerFactory circuitBreakerFactory) {
-        this.webClient = webClientBuilder.build();
-        this.circuitBreaker = circuitBreakerFactory.create("card-service");
+    public FeignExternalServiceImpl(WebClient externalServicesWebClient, ReactiveCircuitBreakerFactory circuitBreakerFactory,
+                                    BulkheadRegistry bulkheadRegistry, ExternalServiceProperties properties,
+                                    MetricsRecorder metrics) {
+        this.webClient = externalServicesWebClient;
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.properties = properties;
+        this.metrics = metrics;
     }
 
     @Override
-    public <T, R> Mono<R> post(String url, T requestBody, Class<R> responseType) {
-        return webClient.post()
-                .uri(url)
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(responseType)
-                .doOnNext(response -> logSuccess(url, response))
-                .doOnError(ex -> logError(url, ex))
+    public <T, R> Mono<R> post(String service, String url, T requestBody, Class<R> responseType) {
+        return Mono.defer(() -> {
+                    ExternalCall externalCall = new ExternalCall(service, url);
+                    return webClient.post()
+                            .uri(url)
+                            .bodyValue(requestBody)
+                            .exchangeToMono(response -> {
+                                externalCall.status(response.statusCode().value());
+                                return response.statusCode().isError()
+                                        ? response.<R>createError()
+                                        : response.bodyToMono(responseType);
+                            })
+                            .transform(call -> logged(externalCall, call));
+                })
                 .onErrorResume(ex -> Mono.error(new CustomException(CustomError.E_OPERATION_FAILED)))
-                .transformDeferred(circuitBreaker::run);
+                .transformDeferred(call -> protect(service, call));
     }
 
     @Override
-    public <R> Publisher<R> get(String url, String pathVariable, Class<R> responseType, boolean isFlux) {
-        var responseSpec = webClient.get()
-                .uri(url, pathVariable)
-                .retrieve();
-        return Mono.from(getPublisher(responseSpec, responseType, isFlux))
-                .doOnNext(response -> logSuccess(url, response))
-                .doOnError(ex -> logError(url, ex))
-                .onErrorResume(ex -> Mono.error(new CustomException(CustomError.E_OPERATION_FAILED)))
-                .transformDeferred(circuitBreaker::run);
+    public <R> Publisher<R> get(String service, String url, String pathVariable, Class<R> responseType, boolean isFlux) {
+        if (isFlux) {
+            return getFlux(service, url, pathVariable, responseType);
+        }
+        Mono<R> attempt = Mono.defer(() -> {
+            ExternalCall externalCall = new ExternalCall(service, url);
+            return webClient.get()
+                    .uri(url, pathVariable)
+                    .exchangeToMono(response -> {
+                        externalCall.status(response.statusCode().value());
+                        return response.statusCode().isError()
+                                ? response.<R>createError()
+                                : response.bodyToMono(responseType);
+                    })
+                    .transform(call -> logged(externalCall, call))
+                    .doOnSuccess(response -> latencyTracker(service).record(externalCall.latencyMillis()));
+        });
+        return resilient(service, attempt)
+                .onErrorMap(FeignExternalServiceImpl::toCustomException)
+                .transformDeferred(call -> protect(service, call));
+    }
+
+    /**
+     * Streams the elements of a JSON array response as Jackson parses them, without buffering the payload.
+     * Hedges and retries race for the response headers; the body of the chosen response is then streamed,
+     * bounded by the maximum number of elements of the service and by the maximum response size.
+     */
+    private <R> Flux<R> getFlux(String service, String url, String pathVariable, Class<R> responseType) {
+        int maxElements = properties.settings(service).getMaxElements();
+        Mono<Flux<R>> attempt = Mono.defer(() -> {
+            ExternalCall externalCall = new ExternalCall(service, url);
+            return webClient.get()
+                    .uri(url, pathVariable)
+                    .retrieve()
+                    .toEntityFlux(responseType)
+                    .doOnNext(entity -> {
+                        externalCall.status(entity.getStatusCode().value());
+                        latencyTracker(service).record(externalCall.latencyMillis());
+                    })
+                    .doOnError(ex -> {
+                        if (ex instanceof WebClientResponseException response) {
+                            externalCall.status(response.getStatusCode().value());
+                        }
+                        externalCall.failed(ex);
+                        logCall(externalCall, SignalType.ON_ERROR);
+                    })
+                    .doOnCancel(() -> logCall(externalCall, SignalType.CANCEL))
+                    .map(entity -> streamed(externalCall, entity.getBody(), maxElements));
+        });
+        return resilient(service, attempt)
+                .flatMapMany(Function.identity())
+                .onErrorMap(FeignExternalServiceImpl::toCustomException)
+                .transformDeferred(call -> protect(service, call));
+    }
+
+    private <R> Flux<R> streamed(ExternalCall externalCall, Flux<R> body, int maxElements) {
+        if (body == null) {
+            logCall(externalCall, SignalType.ON_COMPLETE);
+            return Flux.empty();
+        }
+        return body.<R>handle((element, sink) -> {
+                    if (externalCall.elementCount() >= maxElements) {
+                        sink.error(new CustomException(CustomError.E_RESPONSE_TOO_LARGE));
+                        return;
+                    }
+                    onElement(externalCall, element);
+                    sink.next(element);
+                })
+                .doOnError(externalCall::failed)
+                .doFinally(signal -> logCall(externalCall, signal));
+    }
+
+    private <T> Mono<T> resilient(String service, Mono<T> attempt) {
+        ExternalServiceProperties.ServiceSettings settings = properties.settings(service);
+        return Mono.defer(() -> {
+            retryBudget(service).deposit();
+            return hedged(service, settings.getHedge(), attempt)
+                    .retryWhen(retry(service, settings.getRetry()));
+        });
+    }
+
+    private static Throwable toCustomException(Throwable ex) {
+        if (ex instanceof CustomException) {
+            return ex;
+        }
+        return new CustomException(ex instanceof DataBufferLimitException
+                ? CustomError.E_RESPONSE_TOO_LARGE
+                : CustomError.E_OPERATION_FAILED);
     }
 
-    private <R> Publisher<R> getPublisher(WebClient.ResponseSpec responseSpec, Class<R> responseType, boolean isFlux) {
-        return isFlux ? responseSpec.bodyToFlux(responseType)
-                : responseSpec.bodyToMono(responseType);
+    /**
+     * Sends a second identical call when the first one is slower than the configured latency percentile
+     * of the service; the first successful response wins and the other call is cancelled.
+     * The hedge is a duplicate request to the same base URL and may reuse an idle connection to the same
+     * replica; it only reaches another instance if a load balancer in front of that URL routes it elsewhere.
+     */
+    private <R> Mono<R> hedged(String service, ExternalServiceProperties.HedgeSettings hedge, Mono<R> attempt) {
+        if (!hedge.isEnabled()) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            Sinks.One<Boolean> primaryDone = Sinks.one();
+            Mono<HedgeOutcome<R>> primary = outcome(attempt, false)
+                    .doFinally(signal -> primaryDone.tryEmitValue(Boolean.TRUE));
+            Mono<HedgeOutcome<R>> backup = Mono.delay(hedgeDelay(service, hedge))
+                    .takeUntilOther(primaryDone.asMono())
+                    .filter(tick -> withdraw(service, DOWNSTREAM_HEDGES))
+                    .flatMap(tick -> outcome(attempt, true));
+            return Flux.merge(primary, backup)
+                    .takeUntil(HedgeOutcome::succeeded)
+                    .reduce((first, next) -> !first.succeeded() && next.succeeded() ? next : first)
+                    .flatMap(winner -> {
+                        if (winner.hedge() && winner.succeeded()) {
+                            metrics.increment(DOWNSTREAM_HEDGES, Tags.of(SERVICE_TAG, service, RESULT_TAG, "won"));
+                        }
+                        return winner.toMono();
+                    });
+        });
     }
 
-    private <R> void logSuccess(String url, R response) {
-        log.info(EXTERNAL_REQUEST_SUCCESS_FORMAT, url, response);
+    private Duration hedgeDelay(String service, ExternalServiceProperties.HedgeSettings hedge) {
+        Duration delay = latencyTracker(service).percentile(hedge.getPercentile()).orElse(hedge.getMaxDelay());
+        if (delay.compareTo(hedge.getMinDelay()) < 0) {
+            return hedge.getMinDelay();
+        }
+        return delay.compareTo(hedge.getMaxDelay()) > 0 ? hedge.getMaxDelay() : delay;
+    }
+
+    /**
+     * Retries transport failures and 5xx/429 responses with jittered exponential backoff, as long as
+     * the retry budget of the service allows it.
+     */
+    private Retry retry(String service, ExternalServiceProperties.RetrySettings retry) {
+        AtomicInteger retries = new AtomicInteger();
+        return Retry.backoff(retry.getMaxRetries(), retry.getMinBackoff())
+                .maxBackoff(retry.getMaxBackoff())
+                .jitter(retry.getJitter())
+                .filter(ex -> isRetryable(ex)
+                        && retries.incrementAndGet() <= retry.getMaxRetries()
+                        && withdraw(service, DOWNSTREAM_RETRIES))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    private boolean withdraw(String service, String counter) {
+        boolean permitted = retryBudget(service).tryWithdraw();
+        metrics.increment(counter, Tags.of(SERVICE_TAG, service, RESULT_TAG, permitted ? "fired" : "rejected"));
+        return permitted;
+    }
+
+    private static boolean isRetryable(Throwable ex) {
+        if (ex instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return ex instanceof WebClientRequestException;
+    }
+
+    private static <R> Mono<HedgeOutcome<R>> outcome(Mono<R> attempt, boolean hedge) {
+        return attempt.map(response -> new HedgeOutcome<>(response, null, hedge))
+                .defaultIfEmpty(new HedgeOutcome<>(null, null, hedge))
+                .onErrorResume(ex -> Mono.just(new HedgeOutcome<>(null, ex, hedge)));
+    }
+
+    private <R> Mono<R> logged(ExternalCall externalCall, Mono<R> call) {
+        return call.doOnNext(response -> onElement(externalCall, response))
+                .doOnError(externalCall::failed)
+                .doFinally(signal -> logCall(externalCall, signal));
+    }
+
+    private <R> Mono<R> protect(String service, Mono<R> call) {
+        return circuitBreaker(service).run(call, Mono::error)
+                .transformDeferred(BulkheadOperator.of(bulkhead(service)))
+                .onErrorMap(FeignExternalServiceImpl::isRejection,
+                        ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE))
+                .transform(protectedCall -> metrics.time(DOWNSTREAM_TIMER, Tags.of(SERVICE_TAG, service), protectedCall));
+    }
+
+    private LatencyTracker latencyTracker(String service) {
+        return latencyTrackers.computeIfAbsent(service, name -> new LatencyTracker());
+    }
+
+    private RetryBudget retryBudget(String service) {
+        return retryBudgets.computeIfAbsent(service, name -> {
+            ExternalServiceProperties.RetrySettings retry = properties.settings(name).getRetry();
+            return new RetryBudget(retry.getBudgetRatio(), retry.getBudgetReserve());
+        });
+    }
+
+    private <R> Flux<R> protect(String service, Flux<R> call) {
+        return circuitBreaker(service).run(call, Flux::error)
+                .transformDeferred(BulkheadOperator.of(bulkhead(service)))
+                .onErrorMap(FeignExternalServiceImpl::isRejection,
+                        ex -> new CustomException(CustomError.E_SERVICE_UNAVAILABLE))
+                .transform(protectedCall -> metrics.time(DOWNSTREAM_TIMER, Tags.of(SERVICE_TAG, service), protectedCall));
+    }
+
+    private ReactiveCircuitBreaker circuitBreaker(String service) {
+        return circuitBreakers.computeIfAbsent(service, circuitBreakerFactory::create);
+    }
+
+    private Bulkhead bulkhead(String service) {
+        return bulkheadRegistry.bulkhead(service, () -> BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.settings(service).getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    private static boolean isRejection(Throwable ex) {
+        return ex instanceof CallNotPermittedException
+                || ex instanceof BulkheadFullException
+                || ex instanceof TimeoutException;
+    }
+
+    private <R> void onElement(ExternalCall externalCall, R response) {
+        externalCall.element();
+        if (properties.getLogging().isLogBodies() && log.isDebugEnabled()) {
+            log.debug(EXTERNAL_RESPONSE_BODY_FORMAT, externalCall.getUrlTemplate(), response);
+        }
+    }
+
+    private void logCall(ExternalCall externalCall, SignalType signal) {
+        Throwable failure = externalCall.getFailure();
+        if (failure != null) {
+            log.warn(EXTERNAL_REQUEST_ERROR_FORMAT, externalCall.getService(), externalCall.getUrlTemplate(),
+                    externalCall.getStatus(), externalCall.latencyMillis(), externalCall.elementCount(), failure.toString());
+        } else if (log.isInfoEnabled() && isSampled()) {
+            log.info(EXTERNAL_REQUEST_LOG_FORMAT, externalCall.getService(), externalCall.getUrlTemplate(),
+                    externalCall.getStatus(), signal == SignalType.CANCEL ? "cancelled" : "success",
+                    externalCall.latencyMillis(), externalCall.elementCount());
+        }
+    }
+
+    /**
+     * Result of one of the calls of a hedged request: a response, no response or a failure.
+     */
+    private record HedgeOutcome<R>(R response, Throwable failure, boolean hedge) {
+
+        boolean succeeded() {
+            return failure == null;
+        }
+
+        Mono<R> toMono() {
+            return failure != null ? Mono.error(failure) : Mono.justOrEmpty(response);
+        }
     }
 
-    private void logError(String url, Throwable ex) {
-        log.error(EXTERNAL_REQUEST_ERROR_FORMAT, url, ex);
+    private boolean isSampled() {
+        double sampleRate = properties.getLogging().getSampleRate();
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
     }
 }
@@ -0,0 +1,45 @@
+package com.sgi.customer.infrastructure.feign;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latencies of the most recent successful calls to an external service, used to derive the hedge delay.
+ * Samples are kept in a fixed ring buffer, so the percentiles follow the current behaviour of the service.
+ */
+final class LatencyTracker {
+
+    private static final int CAPACITY = 512;
+
+    private static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples = new AtomicLongArray(CAPACITY);
+    private final AtomicLong count = new AtomicLong();
+
+    void record(long latencyMillis) {
+        samples.set((int) (count.getAndIncrement() % CAPACITY), latencyMillis);
+    }
+
+    /**
+     * Returns the given percentile of the recorded latencies.
+     *
+     * @param percentile the percentile, from 0 to 1
+     * @return the latency, or empty while too few calls were recorded
+     */
+    Optional<Duration> percentile(double percentile) {
+        int size = (int) Math.min(count.get(), CAPACITY);
+        if (size < MIN_SAMPLES) {
+            return Optional.empty();
+        }
+        long[] latencies = new long[size];
+        for (int i = 0; i < size; i++) {
+            latencies[i] = samples.get(i);
+        }
+        Arrays.sort(latencies);
+        int rank = (int) Math.ceil(percentile * size) - 1;
+        return Optional.of(Duration.ofMillis(latencies[Math.max(0, Math.min(size - 1, rank))]));
+    }
+}
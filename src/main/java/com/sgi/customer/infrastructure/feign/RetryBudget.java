@@ -0,0 +1,38 @@
+package com.sgi.customer.infrastructure.feign;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting the retries and hedges sent to an external service.
+ * Every call deposits a fraction of a token and every retry or hedge withdraws a whole one, so extra calls
+ * never exceed that fraction of the traffic plus the reserve, however many calls fail.
+ */
+final class RetryBudget {
+
+    private static final long TOKEN = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    RetryBudget(double ratio, int reserve) {
+        this.deposit = Math.round(ratio * TOKEN);
+        this.capacity = reserve * TOKEN;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    void deposit() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(capacity, current + amount));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+}
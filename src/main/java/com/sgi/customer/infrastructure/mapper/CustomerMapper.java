@@ -1,6 +1,7 @@
 package com.sgi.customer.infrastructure.mapper;
 
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.infrastructure.dto.CustomerPatchRequest;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
 import org.mapstruct.Mapper;
@@ -37,8 +38,27 @@ public interface CustomerMapper {
      * @return the resulting Customer domain object.
      */
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "nameKeys", ignore = true)
+    @Mapping(target = "emailKey", ignore = true)
+    @Mapping(target = "phoneKey", ignore = true)
     Customer toCustomer(CustomerRequest customer, String id);
 
+    /**
+     * Maps the fields of a partial update to a Customer domain object with a provided ID.
+     * Fields absent from the request stay null and are left untouched by the update.
+     *
+     * @param customer the CustomerPatchRequest DTO.
+     * @param id       the ID to set in the resulting Customer domain object.
+     * @return the resulting Customer domain object.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "nameKeys", ignore = true)
+    @Mapping(target = "emailKey", ignore = true)
+    @Mapping(target = "phoneKey", ignore = true)
+    Customer toCustomer(CustomerPatchRequest customer, String id);
+
     /**
      * Creates a new Customer domain object from a CustomerRequest DTO.
      * Generates a unique UUID for the Customer ID.
@@ -48,6 +68,10 @@ public interface CustomerMapper {
      */
     @Mapping(target = "type", source = "type")
     @Mapping(target = "id", source = "customer", qualifiedByName = "generateUUID")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "nameKeys", ignore = true)
+    @Mapping(target = "emailKey", ignore = true)
+    @Mapping(target = "phoneKey", ignore = true)
     Customer created(CustomerRequest customer);
 
     /**
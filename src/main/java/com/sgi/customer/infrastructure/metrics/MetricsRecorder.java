@@ -0,0 +1,120 @@
+package com.sgi.customer.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the latency and size metrics of the service hot paths.
+ * Timers measure from subscription to termination and are tagged with the {@code outcome}
+ * (success, error or cancelled). Timers and summaries only publish a histogram, so percentiles are computed by
+ * Prometheus and can be aggregated across instances; they are registered once per name and tags and reused.
+ */
+@Component
+public class MetricsRecorder {
+
+    public static final String OUTCOME_TAG = "outcome";
+
+    private final MeterRegistry registry;
+    private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MetricsRecorder(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Times a Mono from subscription to termination.
+     *
+     * @param name the timer name
+     * @param tags the tags identifying the operation
+     * @param call the operation to time
+     * @param <T>  the element type
+     * @return the timed operation
+     */
+    public <T> Mono<T> time(String name, Tags tags, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call.doFinally(signal -> sample.stop(timer(name, tags.and(OUTCOME_TAG, outcome(signal)))));
+        });
+    }
+
+    /**
+     * Times a Flux from subscription to termination.
+     *
+     * @param name the timer name
+     * @param tags the tags identifying the operation
+     * @param call the operation to time
+     * @param <T>  the element type
+     * @return the timed operation
+     */
+    public <T> Flux<T> time(String name, Tags tags, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            return call.doFinally(signal -> sample.stop(timer(name, tags.and(OUTCOME_TAG, outcome(signal)))));
+        });
+    }
+
+    /**
+     * Records a size, such as the number of elements of a payload.
+     *
+     * @param name   the distribution summary name
+     * @param tags   the tags identifying the payload
+     * @param amount the recorded size
+     */
+    public void recordSize(String name, Tags tags, double amount) {
+        summaries.computeIfAbsent(new MeterKey(name, tags), key -> DistributionSummary.builder(name)
+                        .tags(tags)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(amount);
+    }
+
+    /**
+     * Counts an occurrence of an event, such as a fired hedge or retry.
+     *
+     * @param name the counter name
+     * @param tags the tags identifying the event
+     */
+    public void increment(String name, Tags tags) {
+        registry.counter(name, tags).increment();
+    }
+
+    /**
+     * Registers a gauge that reports the current value of a number.
+     *
+     * @param name   the gauge name
+     * @param number the number the gauge reads
+     * @param <T>    the number type
+     * @return the number, to be updated by the caller
+     */
+    public <T extends Number> T gauge(String name, T number) {
+        return registry.gauge(name, number);
+    }
+
+    private Timer timer(String name, Tags tags) {
+        return timers.computeIfAbsent(new MeterKey(name, tags), key -> Timer.builder(name)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+    }
+
+    private record MeterKey(String name, Tags tags) {
+    }
+}
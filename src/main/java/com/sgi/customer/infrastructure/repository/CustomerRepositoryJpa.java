@@ -1,14 +1,23 @@
 package com.sgi.customer.infrastructure.repository;
 
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerSummaryView;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
 
 /**
  * Repository interface for performing reactive CRUD operations on the {@link Customer} entity.
  * Extends {@link ReactiveMongoRepository} to provide default methods for saving, finding,
  * updating, and deleting customers in the MongoDB database.
  * This repository allows interaction with the MongoDB collection that stores customer data.
+ * Methods returning {@link CustomerSummaryView} only read the fields of the view.
  */
 public interface CustomerRepositoryJpa extends ReactiveMongoRepository<Customer, String> {
 
+    Mono<CustomerSummaryView> findSummaryViewById(String id);
+
+    Flux<CustomerSummaryView> findSummaryViewsByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,308 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSearchKeys;
+import com.sgi.customer.domain.model.CustomerSummaryView;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.domain.ports.out.CustomerRepository;
+import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.exception.CustomException;
+import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.sgi.customer.domain.shared.Constants.REPOSITORY_TIMER;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.NAME_FIELD;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.VERSION_FIELD;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.method;
+
+/**
+ * Implementación de {@link CustomerRepository} sobre el driver síncrono de MongoDB.
+ * Cada llamada bloqueante se ejecuta en el scheduler del repositorio (hilos virtuales en Java 21 o
+ * posterior), nunca en el event loop de Netty, y los resultados se emiten como {@link Mono} o {@link Flux}.
+ * Lee y escribe los mismos documentos que {@link CustomerRepositoryImpl} (ver {@link CustomerQueries}).
+ * Cada escritura registra sus eventos en el outbox dentro de una transacción del driver síncrono.
+ * Las estadísticas se agregan siempre: los contadores de {@link CustomerStatsCounters} solo los mantiene
+ * el adaptador reactivo.
+ * Se activa con {@code customer.repository.adapter=blocking}.
+ */
+@Repository
+@Qualifier(CachedCustomerRepositoryImpl.DELEGATE)
+@ConditionalOnProperty(name = "customer.repository.adapter", havingValue = "blocking")
+public class BlockingCustomerRepositoryImpl implements CustomerRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final MetricsRecorder metrics;
+
+    private final Scheduler scheduler;
+
+    private final Optional<TransactionTemplate> transactionTemplate;
+
+    public BlockingCustomerRepositoryImpl(MongoTemplate mongoTemplate,
+                                          MetricsRecorder metrics,
+                                          Scheduler customerRepositoryScheduler,
+                                          Optional<TransactionTemplate> customerTransactionTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.metrics = metrics;
+        this.scheduler = customerRepositoryScheduler;
+        this.transactionTemplate = customerTransactionTemplate;
+    }
+
+    @Override
+    public Mono<CustomerResponse> save(Customer customer) {
+        return metrics.time(REPOSITORY_TIMER, method("save"), call(() -> write(
+                        () -> mongoTemplate.save(CustomerSearchKeys.apply(customer)),
+                        saved -> CustomerQueries.createdMessages(List.of(saved))))
+                .onErrorMap(DuplicateKeyException.class, ex -> new CustomException(CustomError.E_DUPLICATE_DOCUMENT))
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Flux<CustomerBatchItemResult> insertAll(List<Customer> customers) {
+        return metrics.time(REPOSITORY_TIMER, method("insertAll"), call(() -> {
+                    List<Document> documents = customers.stream()
+                            .map(customer -> toDocument(CustomerSearchKeys.apply(customer)))
+                            .toList();
+                    Map<Integer, BulkWriteError> errors = transactionTemplate.isPresent()
+                            ? insertWithEvents(customers, documents)
+                            : bulkInsert(documents);
+                    return CustomerQueries.toBatchResults(customers, errors);
+                }))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<Customer> replace(Customer customer) {
+        Update update = CustomerQueries.toUpdate(CustomerSearchKeys.apply(customer), true);
+        return metrics.time(REPOSITORY_TIMER, method("replace"), call(() -> write(
+                () -> modify(customer.getId(), null, update), CustomerQueries::updatedMessages))
+                .onErrorMap(DuplicateKeyException.class, ex -> new CustomException(CustomError.E_DUPLICATE_DOCUMENT)));
+    }
+
+    @Override
+    public Mono<Customer> update(Customer changes, Long expectedVersion) {
+        Update update = CustomerQueries.toUpdate(CustomerSearchKeys.apply(changes), false);
+        return metrics.time(REPOSITORY_TIMER, method("update"), call(() -> write(
+                () -> modify(changes.getId(), expectedVersion, update), CustomerQueries::updatedMessages))
+                .onErrorMap(DuplicateKeyException.class, ex -> new CustomException(CustomError.E_DUPLICATE_DOCUMENT)));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String id) {
+        return metrics.time(REPOSITORY_TIMER, method("deleteById"), call(() -> write(
+                () -> mongoTemplate.remove(CustomerQueries.byId(id), Customer.class).getDeletedCount() > 0,
+                deleted -> deleted ? CustomerQueries.deletedMessages(List.of(id)) : List.of())));
+    }
+
+    @Override
+    public Mono<Long> deleteAllById(List<String> ids) {
+        Query query = CustomerQueries.byIds(ids);
+        if (transactionTemplate.isEmpty()) {
+            return metrics.time(REPOSITORY_TIMER, method("deleteAllById"),
+                    call(() -> mongoTemplate.remove(query, Customer.class).getDeletedCount()));
+        }
+        return metrics.time(REPOSITORY_TIMER, method("deleteAllById"), call(() -> write(
+                        () -> mongoTemplate.findAllAndRemove(query, Customer.class),
+                        deleted -> CustomerQueries.deletedMessages(deleted.stream().map(Customer::getId).toList())))
+                .map(deleted -> (long) deleted.size()));
+    }
+
+    @Override
+    public Flux<CustomerResponse> findAll() {
+        return find("findAll", new Query());
+    }
+
+    @Override
+    public Flux<CustomerResponse> findAll(CustomerFilter filter, String after, Integer limit, CustomerFields fields) {
+        return find("findAllPage", CustomerQueries.page(filter, after, limit, fields));
+    }
+
+    @Override
+    public Flux<CustomerResponse> search(List<String> terms, int offset, int limit, CustomerFields fields) {
+        return metrics.time(REPOSITORY_TIMER, method("search"), stream(() -> mongoTemplate
+                        .aggregateStream(CustomerQueries.search(terms, offset, limit, fields),
+                                mongoTemplate.getCollectionName(Customer.class), Customer.class))
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Mono<CustomerStats> stats() {
+        return metrics.time(REPOSITORY_TIMER, method("stats"), call(() -> CustomerQueries.toStats(mongoTemplate
+                .aggregate(CustomerQueries.stats(), mongoTemplate.getCollectionName(Customer.class), Document.class)
+                .getMappedResults())));
+    }
+
+    @Override
+    public Mono<Customer> findById(String id) {
+        return metrics.time(REPOSITORY_TIMER, method("findById"), call(() -> mongoTemplate.findById(id, Customer.class)));
+    }
+
+    @Override
+    public Mono<CustomerResponse> findById(String id, CustomerFields fields) {
+        return metrics.time(REPOSITORY_TIMER, method("findByIdProjected"), call(() -> mongoTemplate
+                        .findOne(CustomerQueries.project(CustomerQueries.byId(id), fields), Customer.class))
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Mono<CustomerSummaryView> findSummaryViewById(String id) {
+        return metrics.time(REPOSITORY_TIMER, method("findSummaryViewById"), call(() -> mongoTemplate
+                        .findOne(CustomerQueries.include(CustomerQueries.byId(id), NAME_FIELD), Customer.class))
+                .map(CustomerSummaryView::of));
+    }
+
+    @Override
+    public Flux<Customer> findAllById(List<String> ids) {
+        return metrics.time(REPOSITORY_TIMER, method("findAllById"),
+                stream(() -> mongoTemplate.stream(CustomerQueries.byIds(ids), Customer.class)));
+    }
+
+    @Override
+    public Flux<CustomerSummaryView> findSummaryViewsById(List<String> ids) {
+        return metrics.time(REPOSITORY_TIMER, method("findSummaryViewsById"), stream(() -> mongoTemplate
+                        .stream(CustomerQueries.include(CustomerQueries.byIds(ids), NAME_FIELD), Customer.class))
+                .map(CustomerSummaryView::of));
+    }
+
+    private Flux<CustomerResponse> find(String name, Query query) {
+        return metrics.time(REPOSITORY_TIMER, method(name), stream(() -> mongoTemplate.stream(query, Customer.class))
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    /**
+     * Runs a blocking call on the repository scheduler; a null result completes empty.
+     */
+    private <T> Mono<T> call(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    /**
+     * Reads a cursor on the repository scheduler, fetching further batches only as they are requested.
+     * The cursor is closed when the Flux completes, fails or is cancelled.
+     */
+    private <T> Flux<T> stream(Supplier<Stream<T>> stream) {
+        return Flux.fromStream(stream).subscribeOn(scheduler);
+    }
+
+    /**
+     * Runs a customer write and stores the events derived from its result in the same transaction.
+     * Without the outbox the write runs as it is and no event is recorded.
+     */
+    private <T> T write(Supplier<T> write, Function<T, List<OutboxMessage>> messages) {
+        if (transactionTemplate.isEmpty()) {
+            return write.get();
+        }
+        return transactionTemplate.get().execute(status -> {
+            T result = write.get();
+            if (result != null) {
+                List<OutboxMessage> events = messages.apply(result);
+                if (!events.isEmpty()) {
+                    mongoTemplate.insertAll(events);
+                }
+            }
+            return result;
+        });
+    }
+
+    private Customer modify(String id, Long expectedVersion, Update update) {
+        Query query = CustomerQueries.byId(id);
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(VERSION_FIELD).is(expectedVersion));
+        }
+        Customer modified = mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true),
+                Customer.class);
+        if (modified == null && expectedVersion != null
+                && mongoTemplate.exists(CustomerQueries.byId(id), Customer.class)) {
+            throw new CustomException(CustomError.E_VERSION_CONFLICT);
+        }
+        return modified;
+    }
+
+    /**
+     * Inserts the customers of a batch together with their events, one transaction per attempt.
+     * Any write error aborts the whole transaction, so the failing customer is set aside and the others are
+     * inserted again. Customers whose document was already stored are set aside beforehand, leaving the
+     * retries to documents stored concurrently.
+     */
+    private Map<Integer, BulkWriteError> insertWithEvents(List<Customer> customers, List<Document> documents) {
+        Set<String> stored = mongoTemplate.find(CustomerQueries.byDocumentIds(customers), Customer.class).stream()
+                .map(Customer::getDocumentId)
+                .collect(Collectors.toSet());
+        Map<Integer, BulkWriteError> errors = CustomerQueries.duplicates(customers, stored);
+        List<Integer> pending = CustomerQueries.pending(customers.size(), errors);
+        while (!pending.isEmpty()) {
+            List<Integer> attempt = pending;
+            try {
+                write(() -> {
+                    bulkWrite(attempt.stream().map(documents::get).toList());
+                    return attempt.stream().map(customers::get).toList();
+                }, CustomerQueries::createdMessages);
+                return errors;
+            } catch (MongoBulkWriteException ex) {
+                if (ex.getWriteErrors().isEmpty()) {
+                    throw ex;
+                }
+                errors = CustomerQueries.failed(errors, attempt, ex);
+                pending = CustomerQueries.pending(customers.size(), errors);
+            }
+        }
+        return errors;
+    }
+
+    private Map<Integer, BulkWriteError> bulkInsert(List<Document> documents) {
+        try {
+            bulkWrite(documents);
+            return Map.of();
+        } catch (MongoBulkWriteException ex) {
+            return ex.getWriteErrors().stream()
+                    .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        }
+    }
+
+    private void bulkWrite(List<Document> documents) {
+        List<InsertOneModel<Document>> inserts = documents.stream()
+                .map(InsertOneModel::new)
+                .toList();
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class))
+                .bulkWrite(inserts, new BulkWriteOptions().ordered(false));
+    }
+
+    private Document toDocument(Customer customer) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(customer, document);
+        return document;
+    }
+}
@@ -0,0 +1,371 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSummaryView;
+import com.sgi.customer.domain.ports.out.CustomerRepository;
+import com.sgi.customer.infrastructure.cache.InMemoryRemoteCache;
+import com.sgi.customer.infrastructure.cache.RemoteCache;
+import com.sgi.customer.infrastructure.config.CacheProperties;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sgi.customer.domain.shared.Constants.CACHE_HIT_RATIO_GAUGE;
+import static com.sgi.customer.domain.shared.Constants.REMOTE_CACHE_ERROR_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.REMOTE_CACHE_IN_MEMORY_WARNING;
+
+/**
+ * Two-tier read-through cache in front of the configured adapter, {@link CustomerRepositoryImpl} or
+ * {@link BlockingCustomerRepositoryImpl}.
+ * Lookups by id are served from a size and TTL bounded Caffeine cache, and concurrent misses
+ * for the same id share a single load. With the remote tier enabled, a local miss is looked up in the
+ * {@link RemoteCache} shared by every instance before MongoDB, and customers loaded from MongoDB are
+ * written to it unless it already holds them. Every write goes to the delegate, evicts the local entry, removes
+ * the remote one and broadcasts the id, so the other instances evict their local copies too.
+ * Hit, miss and eviction counters are published as {@code cache.*} metrics for each tier
+ * ({@code customers} and {@code customers-remote}), and their hit ratios as {@code customer.cache.hit.ratio}.
+ * Summary views of cached customers are built from the local cache; projected reads go to the delegate,
+ * whose documents would be incomplete as cache entries.
+ * Remote failures never fail a request: the remote tier is then skipped.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "customer.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedCustomerRepositoryImpl implements CustomerRepository {
+
+    public static final String CACHE_NAME = "customers";
+
+    public static final String REMOTE_CACHE_NAME = "customers-remote";
+
+    /** Qualifier of the adapter the cache delegates to. */
+    public static final String DELEGATE = "customerRepositoryAdapter";
+
+    private static final String ID_SEPARATOR = ",";
+
+    private static final Duration MIN_RESUBSCRIBE_BACKOFF = Duration.ofSeconds(1);
+
+    private static final Duration MAX_RESUBSCRIBE_BACKOFF = Duration.ofSeconds(30);
+
+    private final CustomerRepository delegate;
+    private final AsyncCache<String, Customer> cache;
+    private final RemoteCache remote;
+    private final CacheProperties.RemoteSettings remoteSettings;
+    private final ObjectMapper objectMapper;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public CachedCustomerRepositoryImpl(@Qualifier(DELEGATE) CustomerRepository delegate,
+                                        CacheProperties properties,
+                                        RemoteCache remote,
+                                        ObjectMapper objectMapper,
+                                        MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.remote = remote;
+        this.remoteSettings = properties.getRemote();
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+        this.remoteHits = remoteGets(meterRegistry, "hit");
+        this.remoteMisses = remoteGets(meterRegistry, "miss");
+        Gauge.builder(CACHE_HIT_RATIO_GAUGE, this, repository -> repository.cacheStats().hitRate())
+                .tag("tier", "local")
+                .register(meterRegistry);
+        Gauge.builder(CACHE_HIT_RATIO_GAUGE, this, CachedCustomerRepositoryImpl::remoteHitRate)
+                .tag("tier", "remote")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts evicting the local copies of the customers written by any instance once the application is ready.
+     * Warns when the remote tier only has the in-memory stand-in, which other instances do not share.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!remoteSettings.isEnabled()) {
+            return;
+        }
+        if (remote instanceof InMemoryRemoteCache) {
+            log.warn(REMOTE_CACHE_IN_MEMORY_WARNING);
+        }
+        subscriptions.add(remote.subscribe(remoteSettings.getInvalidationChannel())
+                .doOnNext(message -> cache.synchronous().invalidateAll(Arrays.asList(message.split(ID_SEPARATOR))))
+                .doOnError(ex -> log.warn(REMOTE_CACHE_ERROR_FORMAT, "subscription", ex.toString()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RESUBSCRIBE_BACKOFF).maxBackoff(MAX_RESUBSCRIBE_BACKOFF))
+                .subscribe());
+    }
+
+    /**
+     * Stops listening to the invalidations of the other instances.
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    @Override
+    public Mono<CustomerResponse> save(Customer customer) {
+        return delegate.save(customer)
+                .doFinally(signal -> evict(customer.getId()));
+    }
+
+    @Override
+    public Flux<CustomerBatchItemResult> insertAll(List<Customer> customers) {
+        return delegate.insertAll(customers);
+    }
+
+    @Override
+    public Mono<Customer> replace(Customer customer) {
+        return invalidating(delegate.replace(customer), List.of(customer.getId()));
+    }
+
+    @Override
+    public Mono<Customer> update(Customer changes, Long expectedVersion) {
+        return invalidating(delegate.update(changes, expectedVersion), List.of(changes.getId()));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String id) {
+        return invalidating(delegate.deleteById(id), List.of(id));
+    }
+
+    @Override
+    public Mono<Long> deleteAllById(List<String> ids) {
+        return invalidating(delegate.deleteAllById(ids), ids);
+    }
+
+    @Override
+    public Flux<CustomerResponse> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Flux<CustomerResponse> findAll(CustomerFilter filter, String after, Integer limit, CustomerFields fields) {
+        return delegate.findAll(filter, after, limit, fields);
+    }
+
+    @Override
+    public Flux<CustomerResponse> search(List<String> terms, int offset, int limit, CustomerFields fields) {
+        return delegate.search(terms, offset, limit, fields);
+    }
+
+    @Override
+    public Mono<CustomerStats> stats() {
+        return delegate.stats();
+    }
+
+    @Override
+    public Mono<Customer> findById(String id) {
+        return Mono.fromFuture(() -> cache.get(id, (key, executor) -> load(key).toFuture()), true);
+    }
+
+    @Override
+    public Mono<CustomerResponse> findById(String id, CustomerFields fields) {
+        return delegate.findById(id, fields);
+    }
+
+    @Override
+    public Mono<CustomerSummaryView> findSummaryViewById(String id) {
+        Customer cached = cache.synchronous().getIfPresent(id);
+        return cached != null
+                ? Mono.just(CustomerSummaryView.of(cached))
+                : delegate.findSummaryViewById(id);
+    }
+
+    @Override
+    public Flux<Customer> findAllById(List<String> ids) {
+        return Mono.fromFuture(() -> cache.getAll(ids, (keys, executor) -> loadAll(List.copyOf(keys)).toFuture()), true)
+                .flatMapIterable(Map::values);
+    }
+
+    @Override
+    public Flux<CustomerSummaryView> findSummaryViewsById(List<String> ids) {
+        Map<String, Customer> cached = cache.synchronous().getAllPresent(ids);
+        List<String> missing = ids.stream()
+                .filter(id -> !cached.containsKey(id))
+                .toList();
+        return Flux.fromIterable(cached.values())
+                .map(CustomerSummaryView::of)
+                .concatWith(missing.isEmpty() ? Flux.empty() : delegate.findSummaryViewsById(missing));
+    }
+
+    /**
+     * Removes the cached entry for the given customer from the local cache, if any.
+     *
+     * @param id the unique identifier of the customer
+     */
+    public void evict(String id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the hit, miss and eviction counters of the local cache.
+     *
+     * @return the current cache statistics
+     */
+    public CacheStats cacheStats() {
+        return cache.synchronous().stats();
+    }
+
+    /**
+     * Returns the share of the local misses served by the remote cache.
+     *
+     * @return the remote hit ratio, or NaN before the first remote lookup
+     */
+    public double remoteHitRate() {
+        double lookups = remoteHits.count() + remoteMisses.count();
+        return lookups == 0 ? Double.NaN : remoteHits.count() / lookups;
+    }
+
+    /**
+     * Runs a write, then removes the written customers from the remote cache and broadcasts their ids.
+     * The local entries are evicted whatever the outcome; the broadcast also reaches this instance, evicting
+     * again any copy read from the remote cache while the write was in flight.
+     * A load that read the database before the write can still put the old customer back in the remote cache
+     * after the removal, so the removal and broadcast are repeated once the invalidation delay has passed.
+     */
+    private <T> Mono<T> invalidating(Mono<T> write, List<String> ids) {
+        return write
+                .flatMap(result -> invalidateRemote(ids)
+                        .doOnSuccess(done -> invalidateRemoteLater(ids))
+                        .thenReturn(result))
+                .doFinally(signal -> cache.synchronous().invalidateAll(ids));
+    }
+
+    private void invalidateRemoteLater(List<String> ids) {
+        if (remoteSettings.isEnabled() && !ids.isEmpty()) {
+            Mono.delay(remoteSettings.getInvalidationDelay())
+                    .then(invalidateRemote(ids))
+                    .subscribe();
+        }
+    }
+
+    private Mono<Void> invalidateRemote(List<String> ids) {
+        if (!remoteSettings.isEnabled() || ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return remote.del(ids.stream().map(this::key).toList())
+                .then(remote.publish(remoteSettings.getInvalidationChannel(), String.join(ID_SEPARATOR, ids)))
+                .onErrorResume(ex -> {
+                    log.warn(REMOTE_CACHE_ERROR_FORMAT, "invalidation", ex.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Customer> load(String id) {
+        if (!remoteSettings.isEnabled()) {
+            return delegate.findById(id);
+        }
+        return remote.get(key(id))
+                .onErrorResume(ex -> {
+                    log.warn(REMOTE_CACHE_ERROR_FORMAT, "get", ex.toString());
+                    return Mono.empty();
+                })
+                .flatMap(this::read)
+                .doOnNext(customer -> remoteHits.increment())
+                .switchIfEmpty(Mono.defer(() -> {
+                    remoteMisses.increment();
+                    return delegate.findById(id)
+                            .flatMap(customer -> write(List.of(customer)).thenReturn(customer));
+                }));
+    }
+
+    private Mono<Map<String, Customer>> loadAll(List<String> ids) {
+        if (!remoteSettings.isEnabled()) {
+            return delegate.findAllById(ids).collectMap(Customer::getId);
+        }
+        return remote.mget(ids.stream().map(this::key).toList())
+                .onErrorResume(ex -> {
+                    log.warn(REMOTE_CACHE_ERROR_FORMAT, "mget", ex.toString());
+                    return Mono.just(Map.of());
+                })
+                .flatMapMany(values -> Flux.fromIterable(values.values()))
+                .flatMap(this::read)
+                .collectMap(Customer::getId)
+                .flatMap(found -> {
+                    remoteHits.increment(found.size());
+                    List<String> missing = ids.stream()
+                            .filter(id -> !found.containsKey(id))
+                            .toList();
+                    remoteMisses.increment(missing.size());
+                    if (missing.isEmpty()) {
+                        return Mono.just(found);
+                    }
+                    return delegate.findAllById(missing)
+                            .collectList()
+                            .flatMap(loaded -> write(loaded).thenReturn(loaded))
+                            .map(loaded -> {
+                                Map<String, Customer> customers = new HashMap<>(found);
+                                loaded.forEach(customer -> customers.put(customer.getId(), customer));
+                                return customers;
+                            });
+                });
+    }
+
+    private Mono<Void> write(Collection<Customer> customers) {
+        return Flux.fromIterable(customers)
+                .flatMap(customer -> Mono.fromCallable(() -> objectMapper.writeValueAsString(customer))
+                        .flatMap(json -> remote.setIfAbsent(key(customer.getId()), json, remoteSettings.getTtl())))
+                .onErrorResume(ex -> {
+                    log.warn(REMOTE_CACHE_ERROR_FORMAT, "setIfAbsent", ex.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<Customer> read(String json) {
+        return Mono.fromCallable(() -> objectMapper.readValue(json, Customer.class))
+                .onErrorResume(ex -> {
+                    log.warn(REMOTE_CACHE_ERROR_FORMAT, "read", ex.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private String key(String id) {
+        return remoteSettings.getKeyPrefix() + id;
+    }
+
+    private static Counter remoteGets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cache.gets")
+                .tag("cache", REMOTE_CACHE_NAME)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,114 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.sgi.customer.domain.shared.Constants.INDEX_CREATION_ERROR_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.INDEX_MISSING_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.MISSING_INDEXES_GAUGE;
+
+/**
+ * Creates the indexes declared on {@link Customer} and {@link OutboxMessage} when the application starts
+ * and checks they exist.
+ * Spring Boot does not create annotated indexes by default, so without this the filtered lookups would
+ * scan the whole collection. Indexes that cannot be created, for instance the unique document index while
+ * the collection still holds duplicated documents, are logged and reported by the
+ * {@code customer.mongo.indexes.missing} gauge instead of stopping the application.
+ * While the unique document index is missing nothing rejects duplicated documents: creates and
+ * {@code :batch} inserts accept them, and the {@code documentId} filter scans the collection.
+ * The index is sparse, so customers without a document are not indexed and never conflict.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customer.mongo.ensure-indexes", havingValue = "true", matchIfMissing = true)
+public class CustomerIndexManager {
+
+    private static final String NAME_OPTION = "name";
+
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(Customer.class, OutboxMessage.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final AtomicInteger missingIndexes;
+
+    public CustomerIndexManager(ReactiveMongoTemplate mongoTemplate, MetricsRecorder metrics) {
+        this.mongoTemplate = mongoTemplate;
+        this.missingIndexes = metrics.gauge(MISSING_INDEXES_GAUGE, new AtomicInteger());
+    }
+
+    /**
+     * Ensures the customer and outbox indexes once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        ensureIndexes().subscribe();
+    }
+
+    /**
+     * Creates the indexes declared on {@link Customer} and {@link OutboxMessage} that do not exist yet.
+     *
+     * @return a Mono emitting the names of the declared indexes still missing from their collections
+     */
+    public Mono<List<String>> ensureIndexes() {
+        return Flux.fromIterable(INDEXED_ENTITIES)
+                .concatMap(this::ensureIndexes)
+                .flatMapIterable(Function.identity())
+                .collectList()
+                .doOnNext(missing -> missingIndexes.set(missing.size()));
+    }
+
+    private Mono<List<String>> ensureIndexes(Class<?> entity) {
+        String collection = mongoTemplate.getCollectionName(entity);
+        ReactiveIndexOperations indexOperations = mongoTemplate.indexOps(entity);
+        List<IndexDefinition> definitions = new ArrayList<>();
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(entity)
+                .forEach(definitions::add);
+        return Flux.fromIterable(definitions)
+                .concatMap(definition -> indexOperations.ensureIndex(definition)
+                        .onErrorResume(ex -> {
+                            log.warn(INDEX_CREATION_ERROR_FORMAT, name(definition), collection, ex.toString());
+                            return Mono.empty();
+                        }))
+                .thenMany(indexOperations.getIndexInfo())
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet())
+                .map(existing -> missing(definitions, existing))
+                .doOnNext(missing -> {
+                    if (!missing.isEmpty()) {
+                        log.warn(INDEX_MISSING_FORMAT, collection, missing);
+                    }
+                });
+    }
+
+    private static List<String> missing(List<IndexDefinition> definitions, Set<String> existing) {
+        return definitions.stream()
+                .map(CustomerIndexManager::name)
+                .filter(name -> !existing.contains(name))
+                .toList();
+    }
+
+    private static String name(IndexDefinition definition) {
+        return definition.getIndexOptions().getString(NAME_OPTION);
+    }
+}
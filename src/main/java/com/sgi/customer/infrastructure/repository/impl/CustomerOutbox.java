@@ -0,0 +1,57 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.sgi.customer.domain.model.OutboxMessage;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Records the events of customer writes in the outbox collection.
+ * With a transactional operator available, a write and its events commit or roll back together;
+ * without it (outbox disabled) writes run as they are and no event is recorded.
+ */
+@Component
+public class CustomerOutbox {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final Optional<TransactionalOperator> transactionalOperator;
+
+    public CustomerOutbox(ReactiveMongoTemplate mongoTemplate, Optional<TransactionalOperator> transactionalOperator) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Tells whether customer writes record events.
+     *
+     * @return true when the outbox is enabled
+     */
+    public boolean isEnabled() {
+        return transactionalOperator.isPresent();
+    }
+
+    /**
+     * Runs a customer write and stores the events derived from its result in the same transaction.
+     *
+     * @param write    the customer write
+     * @param messages the events describing the result of the write
+     * @param <T>      the result type
+     * @return the result of the write, once the write and its events are committed
+     */
+    public <T> Mono<T> write(Mono<T> write, Function<T, List<OutboxMessage>> messages) {
+        return transactionalOperator
+                .map(operator -> operator.transactional(write.flatMap(result -> append(messages.apply(result))
+                        .thenReturn(result))))
+                .orElse(write);
+    }
+
+    private Mono<Void> append(List<OutboxMessage> messages) {
+        return messages.isEmpty() ? Mono.empty() : mongoTemplate.insertAll(messages).then();
+    }
+}
@@ -0,0 +1,377 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSearchKeys;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import io.micrometer.core.instrument.Tags;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static com.sgi.customer.domain.shared.Constants.DUPLICATE_KEY_ERROR_CODE;
+
+/**
+ * Queries, updates and aggregations on the customer collection, shared by the reactive and the blocking
+ * adapters so that both read and write the same documents the same way.
+ */
+final class CustomerQueries {
+
+    static final String ID_FIELD = "id";
+
+    static final String VERSION_FIELD = "version";
+
+    static final String NAME_FIELD = "name";
+
+    static final String TYPE_FIELD = "type";
+
+    static final String PROFILE_FIELD = "profile";
+
+    static final String DOCUMENT_ID_FIELD = "documentId";
+
+    private static final String NAME_KEYS_FIELD = "nameKeys";
+
+    private static final String EMAIL_KEY_FIELD = "emailKey";
+
+    private static final String PHONE_KEY_FIELD = "phoneKey";
+
+    private static final String SCORE_FIELD = "score";
+
+    private static final String COUNT_FIELD = "count";
+
+    private CustomerQueries() {
+    }
+
+    static Query byId(String id) {
+        return Query.query(Criteria.where(ID_FIELD).is(id));
+    }
+
+    static Query byIds(List<String> ids) {
+        return Query.query(Criteria.where(ID_FIELD).in(ids));
+    }
+
+    /**
+     * Selects the document of the stored customers holding the document of any of the given customers.
+     *
+     * @param customers the customers about to be inserted
+     * @return the query
+     */
+    static Query byDocumentIds(List<Customer> customers) {
+        List<String> documentIds = customers.stream()
+                .map(Customer::getDocumentId)
+                .filter(Objects::nonNull)
+                .toList();
+        return include(Query.query(Criteria.where(DOCUMENT_ID_FIELD).in(documentIds)), DOCUMENT_ID_FIELD);
+    }
+
+    /**
+     * Selects a page of the customers matching a filter, ordered by id.
+     *
+     * @param filter the filter, possibly empty
+     * @param after  the id after which the page starts, or null for the first page
+     * @param limit  the page size, or null for every customer
+     * @param fields the fields to read
+     * @return the query
+     */
+    static Query page(CustomerFilter filter, String after, Integer limit, CustomerFields fields) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, ID_FIELD));
+        if (filter.documentId() != null) {
+            query.addCriteria(Criteria.where(DOCUMENT_ID_FIELD).is(filter.documentId()));
+        }
+        if (filter.email() != null) {
+            query.addCriteria(Criteria.where("email").is(filter.email()));
+        }
+        if (filter.type() != null) {
+            query.addCriteria(Criteria.where(TYPE_FIELD).is(filter.type()));
+        }
+        if (filter.profile() != null) {
+            query.addCriteria(Criteria.where(PROFILE_FIELD).is(filter.profile()));
+        }
+        if (after != null) {
+            query.addCriteria(Criteria.where(ID_FIELD).gt(after));
+        }
+        if (limit != null) {
+            query.limit(limit);
+        }
+        return project(query, fields);
+    }
+
+    /**
+     * Ranks the customers matching every term, best matches first.
+     * Every match is scored before sorting, so the best ones are never left out of the ranking; followed by
+     * the skip and the limit, the sort only keeps the top {@code offset + limit} matches in memory.
+     *
+     * @param terms  the normalized search terms
+     * @param offset the number of ranked customers to skip
+     * @param limit  the maximum number of customers to return
+     * @param fields the fields to return
+     * @return the aggregation
+     */
+    static Aggregation search(List<String> terms, int offset, int limit, CustomerFields fields) {
+        List<AggregationOperation> stages = new ArrayList<>(List.<AggregationOperation>of(
+                Aggregation.match(new Criteria().andOperator(terms.stream().map(CustomerQueries::matches).toList())),
+                context -> new Document("$addFields", new Document(SCORE_FIELD, score(terms))),
+                context -> new Document("$sort", new Document(SCORE_FIELD, -1).append("_id", 1)),
+                Aggregation.skip((long) offset),
+                Aggregation.limit(limit)));
+        if (!fields.isAll()) {
+            stages.add(context -> new Document("$project", projection(fields)));
+        }
+        return Aggregation.newAggregation(stages);
+    }
+
+    /**
+     * Counts the customers of every type and profile pair.
+     * Sorting on the pair first lets MongoDB group while walking the type and profile index.
+     *
+     * @return the aggregation, read with {@link #toStats(List)}
+     */
+    static Aggregation stats() {
+        return Aggregation.newAggregation(
+                Aggregation.sort(Sort.by(TYPE_FIELD, PROFILE_FIELD)),
+                Aggregation.group(TYPE_FIELD, PROFILE_FIELD).count().as(COUNT_FIELD));
+    }
+
+    static CustomerStats toStats(List<Document> groups) {
+        Map<String, Long> byType = new TreeMap<>();
+        Map<String, Long> byProfile = new TreeMap<>();
+        long total = 0;
+        for (Document group : groups) {
+            Document key = group.get("_id", Document.class);
+            long count = ((Number) group.get(COUNT_FIELD)).longValue();
+            total += count;
+            if (key != null && key.getString(TYPE_FIELD) != null) {
+                byType.merge(key.getString(TYPE_FIELD), count, Long::sum);
+            }
+            if (key != null && key.getString(PROFILE_FIELD) != null) {
+                byProfile.merge(key.getString(PROFILE_FIELD), count, Long::sum);
+            }
+        }
+        return new CustomerStats()
+                .total(total)
+                .byType(byType)
+                .byProfile(byProfile)
+                .source(CustomerStats.SourceEnum.AGGREGATION);
+    }
+
+    /**
+     * Builds the update writing the fields of a customer and increasing its version.
+     *
+     * @param customer the customer, with its search keys
+     * @param replace  whether null fields are removed instead of left untouched
+     * @return the update
+     */
+    static Update toUpdate(Customer customer, boolean replace) {
+        Update update = new Update();
+        fields(customer).forEach((field, value) -> {
+            if (value != null) {
+                update.set(field, value);
+            } else if (replace) {
+                update.unset(field);
+            }
+        });
+        return update.inc(VERSION_FIELD, 1);
+    }
+
+    /**
+     * Restricts a query to the requested fields, so only those are read from the database.
+     *
+     * @param query  the query
+     * @param fields the fields to read
+     * @return the query
+     */
+    static Query project(Query query, CustomerFields fields) {
+        if (!fields.isAll()) {
+            query.fields().include(fields.names().toArray(String[]::new));
+        }
+        return query;
+    }
+
+    static Query include(Query query, String... fields) {
+        query.fields().include(fields);
+        return query;
+    }
+
+    static List<CustomerBatchItemResult> toBatchResults(List<Customer> customers, Map<Integer, BulkWriteError> errors) {
+        List<CustomerBatchItemResult> results = new ArrayList<>(customers.size());
+        for (int index = 0; index < customers.size(); index++) {
+            Customer customer = customers.get(index);
+            CustomerBatchItemResult result = new CustomerBatchItemResult()
+                    .index(index)
+                    .documentId(customer.getDocumentId());
+            BulkWriteError error = errors.get(index);
+            if (error == null) {
+                result.id(customer.getId())
+                        .status(CustomerBatchItemResult.StatusEnum.CREATED);
+            } else if (error.getCode() == DUPLICATE_KEY_ERROR_CODE) {
+                result.status(CustomerBatchItemResult.StatusEnum.DUPLICATE)
+                        .message(CustomError.E_DUPLICATE_DOCUMENT.getError().getMessage());
+            } else {
+                result.status(CustomerBatchItemResult.StatusEnum.FAILED)
+                        .message(error.getMessage());
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    /**
+     * Reports the customers whose document is already stored as duplicated, before they are inserted.
+     *
+     * @param customers   the customers about to be inserted
+     * @param documentIds the documents already stored
+     * @return the errors keyed by the position of the customer
+     */
+    static Map<Integer, BulkWriteError> duplicates(List<Customer> customers, Collection<String> documentIds) {
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        for (int index = 0; index < customers.size(); index++) {
+            if (documentIds.contains(customers.get(index).getDocumentId())) {
+                errors.put(index, new BulkWriteError(DUPLICATE_KEY_ERROR_CODE,
+                        CustomError.E_DUPLICATE_DOCUMENT.getError().getMessage(), new BsonDocument(), index));
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Lists the positions of the customers of a batch without an error yet.
+     *
+     * @param size   the number of customers in the batch
+     * @param errors the errors keyed by position
+     * @return the positions still to insert, in order
+     */
+    static List<Integer> pending(int size, Map<Integer, BulkWriteError> errors) {
+        return IntStream.range(0, size)
+                .filter(index -> !errors.containsKey(index))
+                .boxed()
+                .toList();
+    }
+
+    /**
+     * Adds the write errors of an insert of the pending customers to the errors of the batch.
+     * The driver reports the position in the insert, which is mapped back to the position in the batch.
+     *
+     * @param errors  the errors keyed by position in the batch
+     * @param pending the positions in the batch of the inserted customers
+     * @param ex      the failure of the insert
+     * @return the errors of the batch, including the new ones
+     */
+    static Map<Integer, BulkWriteError> failed(Map<Integer, BulkWriteError> errors, List<Integer> pending,
+                                               MongoBulkWriteException ex) {
+        Map<Integer, BulkWriteError> failed = new HashMap<>(errors);
+        ex.getWriteErrors().forEach(error -> failed.put(pending.get(error.getIndex()), error));
+        return failed;
+    }
+
+    static List<Customer> created(List<Customer> customers, List<CustomerBatchItemResult> results) {
+        return results.stream()
+                .filter(result -> result.getStatus() == CustomerBatchItemResult.StatusEnum.CREATED)
+                .map(result -> customers.get(result.getIndex()))
+                .toList();
+    }
+
+    static List<OutboxMessage> createdMessages(List<Customer> customers) {
+        return customers.stream()
+                .map(customer -> OutboxMessage.of(OutboxMessage.CREATED, customer.getId(), customer))
+                .toList();
+    }
+
+    static List<OutboxMessage> updatedMessages(Customer customer) {
+        return List.of(OutboxMessage.of(OutboxMessage.UPDATED, customer.getId(), customer));
+    }
+
+    static List<OutboxMessage> deletedMessages(List<String> ids) {
+        return ids.stream()
+                .map(id -> OutboxMessage.of(OutboxMessage.DELETED, id, null))
+                .toList();
+    }
+
+    static Tags method(String name) {
+        return Tags.of("method", name);
+    }
+
+    private static Map<String, Object> fields(Customer customer) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(NAME_FIELD, customer.getName());
+        fields.put(TYPE_FIELD, customer.getType());
+        fields.put(PROFILE_FIELD, customer.getProfile());
+        fields.put("documentId", customer.getDocumentId());
+        fields.put("email", customer.getEmail());
+        fields.put("phoneNumber", customer.getPhoneNumber());
+        fields.put("address", customer.getAddress());
+        fields.put(NAME_KEYS_FIELD, customer.getNameKeys());
+        fields.put(EMAIL_KEY_FIELD, customer.getEmailKey());
+        fields.put(PHONE_KEY_FIELD, customer.getPhoneKey());
+        return fields;
+    }
+
+    /**
+     * Matches the customers having a name word, the email or the phone number starting with the term.
+     * The regular expressions are anchored and escaped, so Mongo bounds them to a range of each index.
+     */
+    private static Criteria matches(String term) {
+        List<Criteria> keys = new ArrayList<>();
+        keys.add(Criteria.where(NAME_KEYS_FIELD).regex(prefix(term)));
+        keys.add(Criteria.where(EMAIL_KEY_FIELD).regex(prefix(term)));
+        String digits = CustomerSearchKeys.phoneKey(term);
+        if (digits != null) {
+            keys.add(Criteria.where(PHONE_KEY_FIELD).regex(prefix(digits)));
+        }
+        return new Criteria().orOperator(keys);
+    }
+
+    /**
+     * Scores a candidate by the terms matching a whole name word, the email or the phone number,
+     * plus the terms its first name word starts with.
+     */
+    private static Document score(List<String> terms) {
+        List<Object> points = new ArrayList<>();
+        Document nameKeys = new Document("$ifNull", List.of("$" + NAME_KEYS_FIELD, List.of()));
+        Document firstName = new Document("$ifNull", List.of(new Document("$arrayElemAt", List.of(nameKeys, 0)), ""));
+        for (String term : terms) {
+            points.add(points(new Document("$in", List.of(term, nameKeys)), 2));
+            points.add(points(new Document("$eq", List.of("$" + EMAIL_KEY_FIELD, term)), 2));
+            String digits = CustomerSearchKeys.phoneKey(term);
+            if (digits != null) {
+                points.add(points(new Document("$eq", List.of("$" + PHONE_KEY_FIELD, digits)), 2));
+            }
+            points.add(points(new Document("$eq", List.of(new Document("$indexOfCP", List.of(firstName, term)), 0)), 1));
+        }
+        return new Document("$add", points);
+    }
+
+    private static Document points(Document condition, int points) {
+        return new Document("$cond", List.of(condition, points, 0));
+    }
+
+    private static String prefix(String term) {
+        return "^" + term.replaceAll("([^a-z0-9])", "\\\\$1");
+    }
+
+    private static Document projection(CustomerFields fields) {
+        Document projection = new Document();
+        fields.names().forEach(field -> projection.append(ID_FIELD.equals(field) ? "_id" : field, 1));
+        return projection;
+    }
+}
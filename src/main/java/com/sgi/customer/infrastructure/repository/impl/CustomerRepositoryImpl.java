@@ -1,48 +1,281 @@
 package com.sgi.customer.infrastructure.repository.impl;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.result.DeleteResult;
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSearchKeys;
+import com.sgi.customer.domain.model.CustomerSummaryView;
 import com.sgi.customer.domain.ports.out.CustomerRepository;
+import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.exception.CustomException;
 import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
 import com.sgi.customer.infrastructure.repository.CustomerRepositoryJpa;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.sgi.customer.domain.shared.Constants.REPOSITORY_TIMER;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.PROFILE_FIELD;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.TYPE_FIELD;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.VERSION_FIELD;
+import static com.sgi.customer.infrastructure.repository.impl.CustomerQueries.method;
+
 /**
- * Implementación de {@link CustomerRepository} para la gestión reactiva de clientes.
- * Funciona como intermediario entre la capa de servicio y {@link CustomerRepositoryJpa},
- * realizando operaciones no bloqueantes sobre la base de datos.
+ * Implementación de {@link CustomerRepository} para la gestión reactiva de clientes, y adaptador por defecto.
+ * Funciona como intermediario entre la capa de servicio y MongoDB, realizando operaciones no bloqueantes
+ * con {@link CustomerRepositoryJpa} y con las consultas que comparte con {@link BlockingCustomerRepositoryImpl}
+ * (ver {@link CustomerQueries}); las escrituras pasan además por {@link CustomerOutbox} y
+ * {@link CustomerStatsCounters}.
  * Utiliza {@link CustomerMapper} para mapear de manera consistente las entidades
  * a objetos de transferencia de datos (DTOs).
  */
 @Repository
+@Qualifier(CachedCustomerRepositoryImpl.DELEGATE)
+@ConditionalOnProperty(name = "customer.repository.adapter", havingValue = "reactive", matchIfMissing = true)
 @RequiredArgsConstructor
 public class CustomerRepositoryImpl implements CustomerRepository {
 
     private final CustomerRepositoryJpa repositoryJpa;
 
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final MetricsRecorder metrics;
+
+    private final CustomerOutbox outbox;
+
+    private final CustomerStatsCounters counters;
+
     @Override
     public Mono<CustomerResponse> save(Customer customer) {
-        return repositoryJpa.save(customer)
-                .map(CustomerMapper.INSTANCE::toCustomerResponse);
+        Mono<Customer> save = repositoryJpa.save(CustomerSearchKeys.apply(customer))
+                .flatMap(saved -> counters.add(List.of(saved), 1).thenReturn(saved));
+        return metrics.time(REPOSITORY_TIMER, method("save"), outbox.write(save,
+                        saved -> CustomerQueries.createdMessages(List.of(saved)))
+                .onErrorMap(DuplicateKeyException.class, ex -> new CustomException(CustomError.E_DUPLICATE_DOCUMENT))
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
     }
 
     @Override
-    public Mono<Void> delete(Customer customer) {
-        return repositoryJpa.delete(customer);
+    public Flux<CustomerBatchItemResult> insertAll(List<Customer> customers) {
+        List<Document> documents = customers.stream()
+                .map(customer -> toDocument(CustomerSearchKeys.apply(customer)))
+                .toList();
+        Mono<Map<Integer, BulkWriteError>> insert = outbox.isEnabled()
+                ? mongoTemplate.find(CustomerQueries.byDocumentIds(customers), Customer.class)
+                        .map(Customer::getDocumentId)
+                        .collect(Collectors.toSet())
+                        .flatMap(stored -> insertWithEvents(customers, documents,
+                                CustomerQueries.duplicates(customers, stored)))
+                : bulkWrite(documents)
+                        .map(result -> Collections.<Integer, BulkWriteError>emptyMap())
+                        .onErrorResume(MongoBulkWriteException.class, ex -> Mono.just(ex.getWriteErrors().stream()
+                                .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()))));
+        return metrics.time(REPOSITORY_TIMER, method("insertAll"), insert)
+                .map(errors -> CustomerQueries.toBatchResults(customers, errors))
+                .flatMapIterable(Function.identity());
+    }
+
+    @Override
+    public Mono<Customer> replace(Customer customer) {
+        Mono<Customer> replace = modify(customer.getId(), null,
+                CustomerQueries.toUpdate(CustomerSearchKeys.apply(customer), true));
+        return metrics.time(REPOSITORY_TIMER, method("replace"),
+                outbox.write(counted(customer.getId(), true, replace), CustomerQueries::updatedMessages));
+    }
+
+    @Override
+    public Mono<Customer> update(Customer changes, Long expectedVersion) {
+        Mono<Customer> update = modify(changes.getId(), expectedVersion,
+                CustomerQueries.toUpdate(CustomerSearchKeys.apply(changes), false));
+        boolean countsChange = changes.getType() != null || changes.getProfile() != null;
+        return metrics.time(REPOSITORY_TIMER, method("update"),
+                outbox.write(counted(changes.getId(), countsChange, update), CustomerQueries::updatedMessages));
+    }
+
+    @Override
+    public Mono<Boolean> deleteById(String id) {
+        Query query = CustomerQueries.byId(id);
+        Mono<Boolean> delete = counters.isEnabled()
+                ? mongoTemplate.findAndRemove(CustomerQueries.include(query, TYPE_FIELD, PROFILE_FIELD), Customer.class)
+                        .flatMap(removed -> counters.add(List.of(removed), -1).thenReturn(true))
+                        .defaultIfEmpty(false)
+                : mongoTemplate.remove(query, Customer.class).map(result -> result.getDeletedCount() > 0);
+        return metrics.time(REPOSITORY_TIMER, method("deleteById"), outbox.write(delete, deleted -> deleted
+                ? CustomerQueries.deletedMessages(List.of(id))
+                : List.of()));
+    }
+
+    @Override
+    public Mono<Long> deleteAllById(List<String> ids) {
+        Query query = CustomerQueries.byIds(ids);
+        if (!outbox.isEnabled()) {
+            return metrics.time(REPOSITORY_TIMER, method("deleteAllById"),
+                    mongoTemplate.remove(query, Customer.class).map(DeleteResult::getDeletedCount));
+        }
+        Mono<List<Customer>> delete = mongoTemplate.findAllAndRemove(query, Customer.class)
+                .collectList()
+                .flatMap(deleted -> counters.add(deleted, -1).thenReturn(deleted));
+        return metrics.time(REPOSITORY_TIMER, method("deleteAllById"), outbox.write(delete,
+                        deleted -> CustomerQueries.deletedMessages(deleted.stream().map(Customer::getId).toList()))
+                .map(deleted -> (long) deleted.size()));
     }
 
     @Override
     public Flux<CustomerResponse> findAll() {
-        return repositoryJpa.findAll()
-                .map(CustomerMapper.INSTANCE::toCustomerResponse);
+        return metrics.time(REPOSITORY_TIMER, method("findAll"), repositoryJpa.findAll()
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Flux<CustomerResponse> findAll(CustomerFilter filter, String after, Integer limit, CustomerFields fields) {
+        return metrics.time(REPOSITORY_TIMER, method("findAllPage"), mongoTemplate
+                .find(CustomerQueries.page(filter, after, limit, fields), Customer.class)
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Flux<CustomerResponse> search(List<String> terms, int offset, int limit, CustomerFields fields) {
+        return metrics.time(REPOSITORY_TIMER, method("search"), mongoTemplate
+                .aggregate(CustomerQueries.search(terms, offset, limit, fields),
+                        mongoTemplate.getCollectionName(Customer.class), Customer.class)
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Mono<CustomerStats> stats() {
+        Mono<CustomerStats> aggregated = mongoTemplate
+                .aggregate(CustomerQueries.stats(), mongoTemplate.getCollectionName(Customer.class), Document.class)
+                .collectList()
+                .map(CustomerQueries::toStats);
+        return metrics.time(REPOSITORY_TIMER, method("stats"),
+                counters.isEnabled() ? counters.read(aggregated) : aggregated);
     }
 
     @Override
     public Mono<Customer> findById(String id) {
-        return repositoryJpa.findById(id);
+        return metrics.time(REPOSITORY_TIMER, method("findById"), repositoryJpa.findById(id));
+    }
+
+    @Override
+    public Mono<CustomerResponse> findById(String id, CustomerFields fields) {
+        return metrics.time(REPOSITORY_TIMER, method("findByIdProjected"), mongoTemplate
+                .findOne(CustomerQueries.project(CustomerQueries.byId(id), fields), Customer.class)
+                .map(CustomerMapper.INSTANCE::toCustomerResponse));
+    }
+
+    @Override
+    public Mono<CustomerSummaryView> findSummaryViewById(String id) {
+        return metrics.time(REPOSITORY_TIMER, method("findSummaryViewById"), repositoryJpa.findSummaryViewById(id));
+    }
+
+    @Override
+    public Flux<Customer> findAllById(List<String> ids) {
+        return metrics.time(REPOSITORY_TIMER, method("findAllById"), repositoryJpa.findAllById(ids));
+    }
+
+    @Override
+    public Flux<CustomerSummaryView> findSummaryViewsById(List<String> ids) {
+        return metrics.time(REPOSITORY_TIMER, method("findSummaryViewsById"), repositoryJpa.findSummaryViewsByIdIn(ids));
+    }
+
+    /**
+     * Inserts the customers of a batch still without an error together with their events and counts, in one
+     * transaction.
+     * Any write error aborts the whole transaction, so the failing customer is set aside and the others are
+     * inserted again. Customers whose document was already stored are set aside beforehand, leaving the
+     * retries to documents stored concurrently.
+     */
+    private Mono<Map<Integer, BulkWriteError>> insertWithEvents(List<Customer> customers, List<Document> documents,
+                                                               Map<Integer, BulkWriteError> errors) {
+        List<Integer> pending = CustomerQueries.pending(customers.size(), errors);
+        if (pending.isEmpty()) {
+            return Mono.just(errors);
+        }
+        List<Customer> inserted = pending.stream().map(customers::get).toList();
+        Mono<List<Customer>> insert = bulkWrite(pending.stream().map(documents::get).toList())
+                .flatMap(result -> counters.add(inserted, 1).thenReturn(inserted));
+        return outbox.write(insert, CustomerQueries::createdMessages)
+                .thenReturn(errors)
+                .onErrorResume(MongoBulkWriteException.class, ex -> {
+                    if (ex.getWriteErrors().isEmpty()) {
+                        return Mono.error(ex);
+                    }
+                    return insertWithEvents(customers, documents, CustomerQueries.failed(errors, pending, ex));
+                });
+    }
+
+    private Mono<BulkWriteResult> bulkWrite(List<Document> documents) {
+        List<InsertOneModel<Document>> inserts = documents.stream()
+                .map(InsertOneModel::new)
+                .toList();
+        return mongoTemplate.getCollection(mongoTemplate.getCollectionName(Customer.class))
+                .flatMap(collection -> Mono.from(collection.bulkWrite(inserts, new BulkWriteOptions().ordered(false))));
+    }
+
+    /**
+     * Applies an update with a single {@code findAndModify}, without reading the document first.
+     * Only when nothing matched an expected version is the customer looked up, to tell a version conflict
+     * from a missing customer.
+     */
+    private Mono<Customer> modify(String id, Long expectedVersion, Update update) {
+        Query query = CustomerQueries.byId(id);
+        if (expectedVersion != null) {
+            query.addCriteria(Criteria.where(VERSION_FIELD).is(expectedVersion));
+        }
+        Mono<Customer> notModified = expectedVersion == null
+                ? Mono.empty()
+                : repositoryJpa.existsById(id)
+                        .flatMap(exists -> exists
+                                ? Mono.error(new CustomException(CustomError.E_VERSION_CONFLICT))
+                                : Mono.empty());
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), Customer.class)
+                .onErrorMap(DuplicateKeyException.class, ex -> new CustomException(CustomError.E_DUPLICATE_DOCUMENT))
+                .switchIfEmpty(notModified);
+    }
+
+    /**
+     * Runs a write that may change the type or profile of a customer, moving it between the counters.
+     * The previous type and profile are read in the transaction of the write, before it.
+     */
+    private Mono<Customer> counted(String id, boolean countsChange, Mono<Customer> write) {
+        if (!countsChange || !counters.isEnabled()) {
+            return write;
+        }
+        return mongoTemplate.findOne(CustomerQueries.include(CustomerQueries.byId(id), TYPE_FIELD, PROFILE_FIELD),
+                        Customer.class)
+                .flatMap(before -> write.flatMap(after -> counters.move(before, after).thenReturn(after)));
+    }
+
+    private Document toDocument(Customer customer) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(customer, document);
+        return document;
     }
-}
\ No newline at end of file
+}
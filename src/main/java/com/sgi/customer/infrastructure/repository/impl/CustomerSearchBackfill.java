@@ -0,0 +1,100 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerSearchKeys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.sgi.customer.domain.shared.Constants.SEARCH_BACKFILL_ERROR_FORMAT;
+import static com.sgi.customer.domain.shared.Constants.SEARCH_BACKFILL_FORMAT;
+
+/**
+ * Sets the search keys of the customers stored before the search existed.
+ * Writes keep the keys current, so once the application is ready only the customers without name keys
+ * are read, in batches, and completed with a conditional update that never overwrites a newer write.
+ * Each completed customer is published once as an update by the change stream.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "customer.search.backfill", havingValue = "true", matchIfMissing = true)
+public class CustomerSearchBackfill {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final int CONCURRENCY = 16;
+
+    private static final String ID_FIELD = "id";
+
+    private static final String NAME_KEYS_FIELD = "nameKeys";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public CustomerSearchBackfill(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Backfills the search keys once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        backfill().subscribe();
+    }
+
+    /**
+     * Sets the search keys of every customer that has none yet.
+     *
+     * @return a Mono emitting the number of customers completed
+     */
+    public Mono<Long> backfill() {
+        AtomicLong completed = new AtomicLong();
+        return nextBatch()
+                .expand(size -> size == BATCH_SIZE ? nextBatch() : Mono.empty())
+                .doOnNext(completed::addAndGet)
+                .then(Mono.fromSupplier(completed::get))
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info(SEARCH_BACKFILL_FORMAT, count);
+                    }
+                })
+                .onErrorResume(ex -> {
+                    log.warn(SEARCH_BACKFILL_ERROR_FORMAT, completed.get(), ex.toString());
+                    return Mono.just(completed.get());
+                });
+    }
+
+    private Mono<Integer> nextBatch() {
+        Query pending = Query.query(Criteria.where(NAME_KEYS_FIELD).exists(false)).limit(BATCH_SIZE);
+        pending.fields().include("name", "email", "phoneNumber");
+        return mongoTemplate.find(pending, Customer.class)
+                .flatMap(this::complete, CONCURRENCY)
+                .count()
+                .map(Long::intValue);
+    }
+
+    private Mono<Void> complete(Customer customer) {
+        CustomerSearchKeys.apply(customer);
+        Update update = Update.update(NAME_KEYS_FIELD,
+                customer.getNameKeys() == null ? List.of() : customer.getNameKeys());
+        if (customer.getEmailKey() != null) {
+            update.set("emailKey", customer.getEmailKey());
+        }
+        if (customer.getPhoneKey() != null) {
+            update.set("phoneKey", customer.getPhoneKey());
+        }
+        Query query = Query.query(Criteria.where(ID_FIELD).is(customer.getId())
+                .and(NAME_KEYS_FIELD).exists(false));
+        return mongoTemplate.updateFirst(query, update, Customer.class).then();
+    }
+}
@@ -0,0 +1,186 @@
+package com.sgi.customer.infrastructure.repository.impl;
+
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.infrastructure.config.StatsProperties;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.sgi.customer.domain.shared.Constants.STATS_COUNTERS_ERROR_FORMAT;
+
+/**
+ * Counters of customers by type and profile kept in a single document, so the statistics are read in constant
+ * time instead of aggregating the collection.
+ * Customer writes, batch inserts included, change the counters in their own transaction. The document only
+ * counts once it was built from an aggregation, which also runs in a transaction: a write committed meanwhile
+ * conflicts with the build, which then fails and is retried by the next read, instead of the write being
+ * counted twice or lost.
+ * Counters need the outbox transactions; without them, or when disabled, the statistics are always aggregated.
+ */
+@Slf4j
+@Component
+public class CustomerStatsCounters {
+
+    static final String COLLECTION = "customer_stats";
+
+    private static final String DOCUMENT_ID = "customer";
+
+    private static final String ID_FIELD = "_id";
+
+    private static final String INITIALIZED_FIELD = "initialized";
+
+    private static final String TOTAL_FIELD = "total";
+
+    private static final String BY_TYPE_FIELD = "byType";
+
+    private static final String BY_PROFILE_FIELD = "byProfile";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    private final Optional<TransactionalOperator> transactionalOperator;
+
+    private final boolean enabled;
+
+    public CustomerStatsCounters(ReactiveMongoTemplate mongoTemplate,
+                                 Optional<TransactionalOperator> transactionalOperator,
+                                 StatsProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = properties.isCounters();
+    }
+
+    /**
+     * Tells whether the counters are kept.
+     *
+     * @return true when enabled and customer writes run in transactions
+     */
+    public boolean isEnabled() {
+        return enabled && transactionalOperator.isPresent();
+    }
+
+    /**
+     * Counts customers created or deleted.
+     *
+     * @param customers the customers, holding at least their type and profile
+     * @param sign      1 for created customers, -1 for deleted ones
+     * @return a Mono completing once the counters are updated
+     */
+    public Mono<Void> add(Collection<Customer> customers, int sign) {
+        if (!isEnabled() || customers.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        customers.forEach(customer -> count(deltas, customer, sign));
+        return increment(deltas);
+    }
+
+    /**
+     * Moves a customer between the counters of its previous and current type and profile.
+     *
+     * @param before the customer before the write, holding at least its type and profile
+     * @param after  the customer after the write
+     * @return a Mono completing once the counters are updated
+     */
+    public Mono<Void> move(Customer before, Customer after) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        Map<String, Long> deltas = new LinkedHashMap<>();
+        count(deltas, before, -1);
+        count(deltas, after, 1);
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas.isEmpty() ? Mono.empty() : increment(deltas);
+    }
+
+    /**
+     * Reads the statistics from the counters, building them first when they were never built.
+     * A build that fails, usually because of a concurrent write, falls back to the aggregation alone.
+     *
+     * @param aggregation the aggregation of the statistics over the customer collection
+     * @return a Mono emitting the statistics
+     */
+    public Mono<CustomerStats> read(Mono<CustomerStats> aggregation) {
+        return mongoTemplate.findById(DOCUMENT_ID, Document.class, COLLECTION)
+                .filter(document -> Boolean.TRUE.equals(document.getBoolean(INITIALIZED_FIELD)))
+                .map(CustomerStatsCounters::toStats)
+                .switchIfEmpty(Mono.defer(() -> build(aggregation)));
+    }
+
+    private Mono<CustomerStats> build(Mono<CustomerStats> aggregation) {
+        Mono<CustomerStats> build = aggregation.flatMap(stats -> mongoTemplate.save(toDocument(stats), COLLECTION)
+                .thenReturn(stats));
+        return transactionalOperator.orElseThrow().transactional(build)
+                .onErrorResume(ex -> {
+                    log.warn(STATS_COUNTERS_ERROR_FORMAT, ex.toString());
+                    return aggregation;
+                });
+    }
+
+    private Mono<Void> increment(Map<String, Long> deltas) {
+        Update update = new Update();
+        deltas.forEach(update::inc);
+        return mongoTemplate.upsert(Query.query(Criteria.where(ID_FIELD).is(DOCUMENT_ID)), update, COLLECTION)
+                .then();
+    }
+
+    private static void count(Map<String, Long> deltas, Customer customer, long sign) {
+        deltas.merge(TOTAL_FIELD, sign, Long::sum);
+        if (customer.getType() != null) {
+            deltas.merge(BY_TYPE_FIELD + '.' + customer.getType(), sign, Long::sum);
+        }
+        if (customer.getProfile() != null) {
+            deltas.merge(BY_PROFILE_FIELD + '.' + customer.getProfile(), sign, Long::sum);
+        }
+    }
+
+    private static Document toDocument(CustomerStats stats) {
+        return new Document(ID_FIELD, DOCUMENT_ID)
+                .append(INITIALIZED_FIELD, true)
+                .append(TOTAL_FIELD, stats.getTotal())
+                .append(BY_TYPE_FIELD, toDocument(stats.getByType()))
+                .append(BY_PROFILE_FIELD, toDocument(stats.getByProfile()));
+    }
+
+    private static Document toDocument(Map<String, Long> counts) {
+        Document document = new Document();
+        counts.forEach(document::append);
+        return document;
+    }
+
+    private static CustomerStats toStats(Document document) {
+        return new CustomerStats()
+                .total(toLong(document.get(TOTAL_FIELD)))
+                .byType(toCounts(document.get(BY_TYPE_FIELD, Document.class)))
+                .byProfile(toCounts(document.get(BY_PROFILE_FIELD, Document.class)))
+                .source(CustomerStats.SourceEnum.COUNTERS);
+    }
+
+    private static Map<String, Long> toCounts(Document document) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (document != null) {
+            document.forEach((key, value) -> {
+                long count = toLong(value);
+                if (count != 0) {
+                    counts.put(key, count);
+                }
+            });
+        }
+        return counts;
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+}
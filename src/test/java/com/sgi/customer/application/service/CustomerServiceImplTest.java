@@ -1,28 +1,55 @@
 package com.sgi.customer.application.service;
 
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSummaryView;
+import com.sgi.customer.domain.ports.out.CustomerChangeFeed;
 import com.sgi.customer.domain.ports.out.CustomerRepository;
+import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerBatchResponse;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.dto.CustomerPatchRequest;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
+import com.sgi.customer.infrastructure.dto.SummaryResponse;
+import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
 import com.sgi.customer.infrastructure.exception.CustomException;
 import com.sgi.customer.infrastructure.helper.FactoryTest;
 import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,6 +66,22 @@ public class CustomerServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private ProductSummaryCache productSummaryCache;
+
+    @Mock
+    private ProductSummaryLoader productSummaryLoader;
+
+    @Mock
+    private CustomerChangeFeed customerChangeFeed;
+
+    @Spy
+    private MetricsRecorder metrics = new MetricsRecorder(new SimpleMeterRegistry());
+
+    @Spy
+    private SummaryRequestCoalescer summaryRequestCoalescer = new SummaryRequestCoalescer(new SummaryProperties(),
+            new MetricsRecorder(new SimpleMeterRegistry()));
+
     @Test
     void createCustomer_shouldReturnCreatedResponse() {
         CustomerRequest customerRequest = FactoryTest.toFactoryCustomer(CustomerRequest.class);
@@ -55,27 +98,63 @@ public class CustomerServiceImplTest {
 
     }
 
+    @Test
+    void createCustomers_shouldReportPerItemResults() {
+        CustomerRequest first = FactoryTest.toFactoryCustomer(CustomerRequest.class);
+        CustomerRequest second = FactoryTest.toFactoryCustomer(CustomerRequest.class);
+        second.setDocumentId("11111111");
+        CustomerRequest repeated = FactoryTest.toFactoryCustomer(CustomerRequest.class);
+        when(customerRepository.insertAll(anyList())).thenReturn(Flux.just(
+                new CustomerBatchItemResult().index(0).status(CustomerBatchItemResult.StatusEnum.CREATED),
+                new CustomerBatchItemResult().index(1).status(CustomerBatchItemResult.StatusEnum.DUPLICATE)));
+
+        Mono<CustomerBatchResponse> result = customerService.createCustomers(Flux.just(first, second, repeated));
+
+        StepVerifier.create(result)
+                .assertNext(response -> {
+                    assertEquals(3, response.getTotal());
+                    assertEquals(1, response.getCreated());
+                    assertEquals(2, response.getFailed());
+                    assertEquals(List.of(0, 1, 2), response.getResults().stream()
+                            .map(CustomerBatchItemResult::getIndex).toList());
+                    assertEquals(CustomerBatchItemResult.StatusEnum.DUPLICATE, response.getResults().get(2).getStatus());
+                })
+                .verifyComplete();
+
+        verify(customerRepository).insertAll(argThat(customers -> customers.size() == 2));
+    }
+
+    @Test
+    void createCustomers_shouldRejectTooManyCustomers() {
+        CustomerRequest request = FactoryTest.toFactoryCustomer(CustomerRequest.class);
+
+        StepVerifier.create(customerService.createCustomers(Flux.range(0, 10_001).map(index -> request)))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-005"))
+                .verify();
+
+        verifyNoInteractions(customerRepository);
+    }
+
     @Test
     void deleteCustomer_shouldDeleteExistingCustomer() {
         String customerId = UUID.randomUUID().toString();
-        Customer customer = FactoryTest.toFactoryEntityCustomer();
 
-        when(customerRepository.findById(customerId)).thenReturn(Mono.just(customer));
-        when(customerRepository.delete(customer)).thenReturn(Mono.empty());
+        when(customerRepository.deleteById(customerId)).thenReturn(Mono.just(true));
 
         Mono<Void> result = customerService.deleteCustomer(customerId);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(customerRepository).findById(customerId);
-        verify(customerRepository).delete(customer);
+        verify(customerRepository).deleteById(customerId);
+        verify(customerRepository, never()).findById(customerId);
     }
 
     @Test
     void deleteCustomer_shouldThrowExceptionIfCustomerNotFound() {
         String customerId = UUID.randomUUID().toString();
-        Mockito.when(customerRepository.findById(customerId)).thenReturn(Mono.empty());
+        Mockito.when(customerRepository.deleteById(customerId)).thenReturn(Mono.just(false));
 
         Mono<Void> result = customerService.deleteCustomer(customerId);
 
@@ -83,9 +162,30 @@ public class CustomerServiceImplTest {
                 .expectErrorMatches(throwable -> throwable instanceof CustomException
                         && ((CustomException) throwable).getCode().equals("CUSTOMER-001"))
                 .verify();
+    }
 
-        verify(customerRepository).findById(customerId);
-        verify(customerRepository, never()).delete(any(Customer.class));
+    @Test
+    void deleteCustomers_shouldRemoveDistinctIdsAtOnce() {
+        when(customerRepository.deleteAllById(List.of("customer-1", "customer-2"))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(customerService.deleteCustomers(List.of("customer-1", "customer-2", "customer-1")))
+                .assertNext(response -> {
+                    assertEquals(2, response.getRequested());
+                    assertEquals(1, response.getDeleted());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deleteCustomers_shouldRejectTooManyIds() {
+        List<String> ids = IntStream.range(0, 1001).mapToObj(String::valueOf).toList();
+
+        StepVerifier.create(customerService.deleteCustomers(ids))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-005"))
+                .verify();
+
+        verifyNoInteractions(customerRepository);
     }
 
     @Test
@@ -95,7 +195,8 @@ public class CustomerServiceImplTest {
 
         when(customerRepository.findAll()).thenReturn(Flux.just(customerResponse1, customerResponse2));
 
-        Flux<CustomerResponse> result = customerService.getAllCustomers();
+        Flux<CustomerResponse> result = customerService.getAllCustomers(null, null, CustomerFilter.NONE,
+                CustomerFields.ALL);
 
         StepVerifier.create(result)
                 .expectNext(customerResponse1, customerResponse2)
@@ -104,13 +205,161 @@ public class CustomerServiceImplTest {
         verify(customerRepository).findAll();
     }
 
+    @Test
+    void getAllCustomers_shouldReturnPageAfterCursor() {
+        CustomerResponse customerResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
+        String after = UUID.randomUUID().toString();
+
+        when(customerRepository.findAll(CustomerFilter.NONE, after, 10, CustomerFields.ALL))
+                .thenReturn(Flux.just(customerResponse));
+
+        StepVerifier.create(customerService.getAllCustomers(10, after, CustomerFilter.NONE, CustomerFields.ALL))
+                .expectNext(customerResponse)
+                .verifyComplete();
+
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllCustomers_shouldClampPageSize() {
+        when(customerRepository.findAll(CustomerFilter.NONE, null, 1000, CustomerFields.ALL)).thenReturn(Flux.empty());
+        when(customerRepository.findAll(CustomerFilter.NONE, "cursor", 100, CustomerFields.ALL)).thenReturn(Flux.empty());
+
+        StepVerifier.create(customerService.getAllCustomers(50_000, null, CustomerFilter.NONE, CustomerFields.ALL))
+                .verifyComplete();
+        StepVerifier.create(customerService.getAllCustomers(null, "cursor", CustomerFilter.NONE, CustomerFields.ALL))
+                .verifyComplete();
+
+        verify(customerRepository).findAll(CustomerFilter.NONE, null, 1000, CustomerFields.ALL);
+        verify(customerRepository).findAll(CustomerFilter.NONE, "cursor", 100, CustomerFields.ALL);
+    }
+
+    @Test
+    void getAllCustomers_shouldStreamEveryFilteredCustomer() {
+        CustomerResponse customerResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
+        CustomerFilter filter = new CustomerFilter(null, null, "PERSONAL", null);
+
+        when(customerRepository.findAll(filter, null, null, CustomerFields.ALL)).thenReturn(Flux.just(customerResponse));
+
+        StepVerifier.create(customerService.getAllCustomers(null, null, filter, CustomerFields.ALL))
+                .expectNext(customerResponse)
+                .verifyComplete();
+
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllCustomers_shouldUseFilterLookupForPages() {
+        CustomerResponse customerResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
+        CustomerFilter filter = new CustomerFilter(null, "jane@mail.com", null, null);
+
+        when(customerRepository.findAll(filter, "cursor", 100, CustomerFields.ALL)).thenReturn(Flux.just(customerResponse));
+
+        StepVerifier.create(customerService.getAllCustomers(null, "cursor", filter, CustomerFields.ALL))
+                .expectNext(customerResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllCustomers_shouldRejectUnsupportedFilter() {
+        CustomerFilter filter = new CustomerFilter("12345678", "jane@mail.com", null, null);
+
+        StepVerifier.create(customerService.getAllCustomers(null, null, filter, CustomerFields.ALL))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-006"))
+                .verify();
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void getAllCustomers_shouldReadOnlySelectedFields() {
+        CustomerResponse customerResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
+        CustomerFields fields = CustomerFields.of(List.of("name", "type"));
+
+        when(customerRepository.findAll(CustomerFilter.NONE, "cursor", 100, fields))
+                .thenReturn(Flux.just(customerResponse));
+
+        StepVerifier.create(customerService.getAllCustomers(null, "cursor", CustomerFilter.NONE, fields))
+                .expectNext(customerResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllCustomers_shouldStreamSelectedFieldsOfEveryCustomer() {
+        CustomerFields fields = CustomerFields.of(List.of("name"));
+
+        when(customerRepository.findAll(CustomerFilter.NONE, null, null, fields)).thenReturn(Flux.empty());
+
+        StepVerifier.create(customerService.getAllCustomers(null, null, CustomerFilter.NONE, fields))
+                .verifyComplete();
+
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void getAllCustomers_shouldRejectUnsupportedFields() {
+        StepVerifier.create(customerService.getAllCustomers(null, null, CustomerFilter.NONE,
+                        CustomerFields.of(List.of("name", "password"))))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-011"))
+                .verify();
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void searchCustomers_shouldSearchNormalizedTerms() {
+        CustomerResponse customerResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
+        when(customerRepository.search(List.of("jose", "perez"), 0, 20, CustomerFields.ALL))
+                .thenReturn(Flux.just(customerResponse));
+
+        StepVerifier.create(customerService.searchCustomers("  José PÉREZ a ", null, null, CustomerFields.ALL))
+                .expectNext(customerResponse)
+                .verifyComplete();
+    }
+
+    @Test
+    void searchCustomers_shouldRejectQueryWithoutTerms() {
+        StepVerifier.create(customerService.searchCustomers(" a ", null, null, CustomerFields.ALL))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-010"))
+                .verify();
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void searchCustomers_shouldRejectPagesBeyondRankedResults() {
+        StepVerifier.create(customerService.searchCustomers("jose", 100, 950, CustomerFields.ALL))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-010"))
+                .verify();
+        StepVerifier.create(customerService.searchCustomers("jose", 500, null, CustomerFields.ALL))
+                .expectError(CustomException.class)
+                .verify();
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void getCustomerStats_shouldReturnRepositoryStats() {
+        CustomerStats stats = new CustomerStats().total(2L).byType(Map.of("PERSONAL", 2L))
+                .byProfile(Map.of("VIP", 1L)).source(CustomerStats.SourceEnum.AGGREGATION);
+        when(customerRepository.stats()).thenReturn(Mono.just(stats));
+
+        StepVerifier.create(customerService.getCustomerStats())
+                .expectNext(stats)
+                .verifyComplete();
+    }
+
 
     @Test
     void getCustomerById_shouldReturnCustomerIfFound() {
         String customerId =  UUID.randomUUID().toString();
         Customer customer = FactoryTest.toFactoryEntityCustomer();
         when(customerRepository.findById(customerId)).thenReturn(Mono.just(customer));
-        Mono<CustomerResponse> result = customerService.getCustomerById(customerId);
+        Mono<CustomerResponse> result = customerService.getCustomerById(customerId, CustomerFields.ALL);
         StepVerifier.create(result)
                 .expectNext(CustomerMapper.INSTANCE.toCustomerResponse(customer))
                 .verifyComplete();
@@ -118,12 +367,25 @@ public class CustomerServiceImplTest {
         verify(customerRepository).findById(customerId);
     }
 
+    @Test
+    void getCustomerById_shouldReadOnlySelectedFields() {
+        CustomerResponse customerResponse = new CustomerResponse("client-1", "Jane");
+        CustomerFields fields = CustomerFields.of(List.of("name"));
+        when(customerRepository.findById("client-1", fields)).thenReturn(Mono.just(customerResponse));
+
+        StepVerifier.create(customerService.getCustomerById("client-1", fields))
+                .expectNext(customerResponse)
+                .verifyComplete();
+
+        verify(customerRepository, never()).findById("client-1");
+    }
+
     @Test
     void getCustomerById_shouldReturnEmptyIfNotFound() {
         String customerId =  UUID.randomUUID().toString();
         when(customerRepository.findById(customerId)).thenReturn(Mono.empty());
 
-        Mono<CustomerResponse> result = customerService.getCustomerById(customerId);
+        Mono<CustomerResponse> result = customerService.getCustomerById(customerId, CustomerFields.ALL);
 
         StepVerifier.create(result)
                 .verifyComplete();
@@ -132,22 +394,20 @@ public class CustomerServiceImplTest {
     }
 
     @Test
-    void updateCustomer_shouldUpdateExistingCustomer() {
+    void updateCustomer_shouldReplaceExistingCustomer() {
         String customerId =  UUID.randomUUID().toString();
         Customer customer = FactoryTest.toFactoryEntityCustomer();
         customer.setId(customerId);
         CustomerRequest updatedRequest = FactoryTest.toFactoryCustomer(CustomerRequest.class);
-        CustomerResponse updatedResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
-        when(customerRepository.findById(customerId)).thenReturn(Mono.just(customer));
-        when(customerRepository.save(any(Customer.class))).thenReturn(Mono.just(updatedResponse));
+        when(customerRepository.replace(any(Customer.class))).thenReturn(Mono.just(customer));
 
         Mono<CustomerResponse> result = customerService.updateCustomer(customerId, Mono.just(updatedRequest));
         StepVerifier.create(result)
-                .expectNext(updatedResponse)
+                .expectNext(CustomerMapper.INSTANCE.toCustomerResponse(customer))
                 .verifyComplete();
 
-        verify(customerRepository).findById(customerId);
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).replace(argThat(replaced -> customerId.equals(replaced.getId())));
+        verify(customerRepository, never()).findById(customerId);
     }
 
     @Test
@@ -155,7 +415,7 @@ public class CustomerServiceImplTest {
         String customerId =  UUID.randomUUID().toString();
         CustomerRequest updatedRequest = FactoryTest.toFactoryCustomer(CustomerRequest.class);
 
-        when(customerRepository.findById(customerId)).thenReturn(Mono.empty());
+        when(customerRepository.replace(any(Customer.class))).thenReturn(Mono.empty());
 
         Mono<CustomerResponse> result = customerService.updateCustomer(customerId, Mono.just(updatedRequest));
 
@@ -164,9 +424,194 @@ public class CustomerServiceImplTest {
                         && ((CustomException) throwable).getCode().equals("CUSTOMER-001"))
                 .verify();
 
-        verify(customerRepository).findById(customerId);
         verify(customerRepository, never()).save(any(Customer.class));
     }
 
+    @Test
+    void patchCustomer_shouldSendOnlyProvidedFields() {
+        String customerId =  UUID.randomUUID().toString();
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        customer.setId(customerId);
+        CustomerPatchRequest changes = new CustomerPatchRequest().email("new@mail.com").version(3L);
+        when(customerRepository.update(any(Customer.class), eq(3L))).thenReturn(Mono.just(customer));
+
+        StepVerifier.create(customerService.patchCustomer(customerId, Mono.just(changes)))
+                .expectNext(CustomerMapper.INSTANCE.toCustomerResponse(customer))
+                .verifyComplete();
+
+        verify(customerRepository).update(argThat(changed -> customerId.equals(changed.getId())
+                && "new@mail.com".equals(changed.getEmail())
+                && changed.getName() == null), eq(3L));
+    }
+
+    @Test
+    void patchCustomer_shouldRejectEmptyChanges() {
+        StepVerifier.create(customerService.patchCustomer("customer-1", Mono.just(new CustomerPatchRequest().version(1L))))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-008"))
+                .verify();
+
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void patchCustomer_shouldThrowExceptionIfCustomerNotFound() {
+        when(customerRepository.update(any(Customer.class), isNull())).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerService.patchCustomer("customer-1", Mono.just(new CustomerPatchRequest().name("x"))))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-001"))
+                .verify();
+    }
+
+    @Test
+    void getCustomerSummary_shouldReturnProducts() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        SummaryResponseProduct product = new SummaryResponseProduct();
+        when(customerRepository.findSummaryViewById(customer.getId()))
+                .thenReturn(Mono.just(CustomerSummaryView.of(customer)));
+        when(productSummaryCache.get(customer.getId(), false))
+                .thenReturn(Mono.just(new ProductSummaryLoader.ProductSummary(product, List.of())));
+
+        StepVerifier.create(customerService.getCustomerSummary(customer.getId(), false))
+                .assertNext(summary -> {
+                    assertEquals(customer.getId(), summary.getCustomerId());
+                    assertEquals(customer.getName(), summary.getName());
+                    assertEquals(Boolean.FALSE, summary.getPartial());
+                })
+                .verifyComplete();
+    }
 
+    @Test
+    void streamCustomerSummary_shouldStartWithTheCustomer() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(customerRepository.findSummaryViewById(customer.getId()))
+                .thenReturn(Mono.just(CustomerSummaryView.of(customer)));
+        when(productSummaryLoader.stream(customer.getId(), false))
+                .thenReturn(Flux.just(new CustomerSummaryItem(CustomerSummaryItem.KindEnum.ACCOUNT)));
+
+        StepVerifier.create(customerService.streamCustomerSummary(customer.getId(), false))
+                .assertNext(item -> {
+                    assertEquals(CustomerSummaryItem.KindEnum.CUSTOMER, item.getKind());
+                    assertEquals(customer.getName(), item.getName());
+                })
+                .assertNext(item -> assertEquals(CustomerSummaryItem.KindEnum.ACCOUNT, item.getKind()))
+                .verifyComplete();
+    }
+
+    @Test
+    void streamCustomerSummary_shouldFailForUnknownCustomer() {
+        when(customerRepository.findSummaryViewById("missing")).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerService.streamCustomerSummary("missing", false))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-001"))
+                .verify();
+    }
+
+    @Test
+    void getCustomerSummary_shouldReportMissingSources() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(customerRepository.findSummaryViewById(customer.getId()))
+                .thenReturn(Mono.just(CustomerSummaryView.of(customer)));
+        when(productSummaryCache.get(customer.getId(), true)).thenReturn(Mono.just(
+                new ProductSummaryLoader.ProductSummary(new SummaryResponseProduct(), List.of(ProductSummaryLoader.CREDITS))));
+
+        StepVerifier.create(customerService.getCustomerSummary(customer.getId(), true))
+                .assertNext(summary -> {
+                    assertEquals(Boolean.TRUE, summary.getPartial());
+                    assertEquals(List.of(ProductSummaryLoader.CREDITS), summary.getMissingSources());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCustomerSummary_shouldThrowExceptionIfCustomerNotFound() {
+        String customerId = UUID.randomUUID().toString();
+        when(customerRepository.findSummaryViewById(customerId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerService.getCustomerSummary(customerId, false))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-001"))
+                .verify();
+
+        verify(productSummaryCache, never()).get(any(), anyBoolean());
+    }
+
+    @Test
+    void evictCustomerSummary_shouldEvictCachedSummary() {
+        StepVerifier.create(customerService.evictCustomerSummary("client-1"))
+                .verifyComplete();
+
+        verify(productSummaryCache).evict("client-1");
+    }
+
+    @Test
+    void getCustomerChanges_shouldStreamFeedEvents() {
+        CustomerChangeEvent event = new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.DELETED, "client-1");
+        when(customerChangeFeed.changes()).thenReturn(Flux.just(event));
+
+        StepVerifier.create(customerService.getCustomerChanges())
+                .expectNext(event)
+                .verifyComplete();
+    }
+
+    @Test
+    void getCustomerSummaries_shouldReportUnknownCustomers() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(customerRepository.findSummaryViewsById(List.of(customer.getId(), "missing")))
+                .thenReturn(Flux.just(CustomerSummaryView.of(customer)));
+        when(productSummaryCache.getAll(List.of(customer.getId()), false)).thenReturn(Flux.just(
+                new ProductSummaryLoader.CustomerProducts(customer.getId(),
+                        new ProductSummaryLoader.ProductSummary(new SummaryResponseProduct(), List.of()))));
+
+        StepVerifier.create(customerService.getCustomerSummaries(
+                        List.of(customer.getId(), "missing", customer.getId()), false))
+                .assertNext(summary -> {
+                    assertEquals("missing", summary.getCustomerId());
+                    assertEquals(SummaryResponse.StatusEnum.NOT_FOUND, summary.getStatus());
+                    assertEquals("CUSTOMER-001", summary.getCode());
+                })
+                .assertNext(summary -> {
+                    assertEquals(customer.getId(), summary.getCustomerId());
+                    assertEquals(SummaryResponse.StatusEnum.FOUND, summary.getStatus());
+                    assertEquals(customer.getName(), summary.getName());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCustomerSummaries_shouldReportFailedCustomersWithoutEndingTheStream() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        Customer failing = FactoryTest.toFactoryEntityCustomer();
+        failing.setId("failing");
+        when(customerRepository.findSummaryViewsById(List.of(failing.getId(), customer.getId())))
+                .thenReturn(Flux.just(CustomerSummaryView.of(failing), CustomerSummaryView.of(customer)));
+        when(productSummaryCache.getAll(anyList(), eq(false))).thenReturn(Flux.just(
+                ProductSummaryLoader.CustomerProducts.failed(failing.getId(),
+                        new CustomException(CustomError.E_SERVICE_UNAVAILABLE)),
+                new ProductSummaryLoader.CustomerProducts(customer.getId(),
+                        new ProductSummaryLoader.ProductSummary(new SummaryResponseProduct(), List.of()))));
+
+        StepVerifier.create(customerService.getCustomerSummaries(List.of(failing.getId(), customer.getId()), false))
+                .assertNext(summary -> {
+                    assertEquals(failing.getId(), summary.getCustomerId());
+                    assertEquals(SummaryResponse.StatusEnum.FAILED, summary.getStatus());
+                    assertEquals("CUSTOMER-004", summary.getCode());
+                })
+                .assertNext(summary -> assertEquals(SummaryResponse.StatusEnum.FOUND, summary.getStatus()))
+                .verifyComplete();
+    }
+
+    @Test
+    void getCustomerSummaries_shouldRejectTooManyCustomers() {
+        List<String> customerIds = IntStream.rangeClosed(0, 500).mapToObj(String::valueOf).toList();
+
+        StepVerifier.create(customerService.getCustomerSummaries(customerIds, false))
+                .expectErrorMatches(throwable -> throwable instanceof CustomException
+                        && ((CustomException) throwable).getCode().equals("CUSTOMER-005"))
+                .verify();
+
+        verify(customerRepository, never()).findSummaryViewsById(anyList());
+    }
 }
@@ -0,0 +1,156 @@
+package com.sgi.customer.application.service;
+
+import com.sgi.customer.application.service.ProductSummaryLoader.CustomerProducts;
+import com.sgi.customer.application.service.ProductSummaryLoader.ProductSummary;
+import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
+import com.sgi.customer.infrastructure.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProductSummaryCache}.
+ * Covers the fresh and stale windows, the last good fallback, the eviction and failed customers of a batch.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductSummaryCacheTest {
+
+    private static final String CUSTOMER_ID = "client-1";
+
+    @Mock
+    private ProductSummaryLoader loader;
+
+    @Test
+    void get_shouldServeFreshSnapshotWithoutLoading() {
+        ProductSummaryCache cache = newCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        ProductSummary summary = complete();
+        when(loader.load(CUSTOMER_ID, false)).thenReturn(Mono.just(summary));
+
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+
+        verify(loader, times(1)).load(CUSTOMER_ID, false);
+    }
+
+    @Test
+    void get_shouldServeStaleSnapshotAndRefreshInBackground() {
+        ProductSummaryCache cache = newCache(Duration.ZERO, Duration.ofMinutes(5));
+        ProductSummary first = complete();
+        ProductSummary second = complete();
+        when(loader.load(CUSTOMER_ID, false)).thenReturn(Mono.just(first), Mono.just(second));
+
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(first).verifyComplete();
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(first).verifyComplete();
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(second).verifyComplete();
+    }
+
+    @Test
+    void get_shouldFallBackToLastGoodSnapshot() {
+        ProductSummaryCache cache = newCache(Duration.ZERO, Duration.ZERO);
+        ProductSummary summary = complete();
+        when(loader.load(CUSTOMER_ID, false)).thenReturn(Mono.just(summary),
+                Mono.error(new CustomException(CustomError.E_SERVICE_UNAVAILABLE)));
+
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+    }
+
+    @Test
+    void get_shouldPreferLastGoodSnapshotOverPartialSummary() {
+        ProductSummaryCache cache = newCache(Duration.ZERO, Duration.ZERO);
+        ProductSummary summary = complete();
+        ProductSummary partial = new ProductSummary(new SummaryResponseProduct(), List.of(ProductSummaryLoader.CREDITS));
+        when(loader.load(eq(CUSTOMER_ID), anyBoolean())).thenReturn(Mono.just(summary), Mono.just(partial));
+
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+        StepVerifier.create(cache.get(CUSTOMER_ID, true)).expectNext(summary).verifyComplete();
+    }
+
+    @Test
+    void get_shouldFailWithoutSnapshot() {
+        ProductSummaryCache cache = newCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        when(loader.load(CUSTOMER_ID, false))
+                .thenReturn(Mono.error(new CustomException(CustomError.E_SERVICE_UNAVAILABLE)));
+
+        StepVerifier.create(cache.get(CUSTOMER_ID, false))
+                .expectError(CustomException.class)
+                .verify();
+    }
+
+    @Test
+    void evict_shouldForceReload() {
+        ProductSummaryCache cache = newCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        ProductSummary summary = complete();
+        when(loader.load(CUSTOMER_ID, false)).thenReturn(Mono.just(summary));
+
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+        cache.evict(CUSTOMER_ID);
+        StepVerifier.create(cache.get(CUSTOMER_ID, false)).expectNext(summary).verifyComplete();
+
+        verify(loader, times(2)).load(CUSTOMER_ID, false);
+    }
+
+    @Test
+    void getAll_shouldLoadOnlyUncachedCustomers() {
+        ProductSummaryCache cache = newCache(Duration.ofMinutes(1), Duration.ofMinutes(5));
+        ProductSummary summary = complete();
+        when(loader.load(CUSTOMER_ID, false)).thenReturn(Mono.just(summary));
+        when(loader.loadGroup(List.of("client-2"), false)).thenReturn(Mono.just(Map.of("client-2", summary)));
+
+        cache.get(CUSTOMER_ID, false).block();
+        StepVerifier.create(cache.getAll(List.of(CUSTOMER_ID, "client-2"), false))
+                .expectNext(new CustomerProducts(CUSTOMER_ID, summary))
+                .expectNext(new CustomerProducts("client-2", summary))
+                .verifyComplete();
+
+        verify(loader, times(1)).loadGroup(List.of("client-2"), false);
+    }
+
+    @Test
+    void getAll_shouldReportFailedCustomerWithoutFailingItsGroup() {
+        SummaryProperties properties = new SummaryProperties();
+        properties.getBatch().setMultiClientServices(Set.of("account-service"));
+        ProductSummaryCache cache = new ProductSummaryCache(loader, properties, new SimpleMeterRegistry());
+        ProductSummary summary = complete();
+        CustomException failure = new CustomException(CustomError.E_SERVICE_UNAVAILABLE);
+        when(loader.loadGroup(List.of(CUSTOMER_ID, "client-2"), false)).thenReturn(Mono.error(failure));
+        when(loader.load(CUSTOMER_ID, false)).thenReturn(Mono.error(failure));
+        when(loader.load("client-2", false)).thenReturn(Mono.just(summary));
+
+        StepVerifier.create(cache.getAll(List.of(CUSTOMER_ID, "client-2"), false).collectList())
+                .assertNext(products -> assertEquals(List.of(CustomerProducts.failed(CUSTOMER_ID, failure),
+                        new CustomerProducts("client-2", summary)), products.stream()
+                        .sorted(Comparator.comparing(CustomerProducts::customerId)).toList()))
+                .verifyComplete();
+    }
+
+    private ProductSummaryCache newCache(Duration fresh, Duration stale) {
+        SummaryProperties properties = new SummaryProperties();
+        properties.getCache().setFresh(fresh);
+        properties.getCache().setStale(stale);
+        return new ProductSummaryCache(loader, properties, new SimpleMeterRegistry());
+    }
+
+    private static ProductSummary complete() {
+        return new ProductSummary(new SummaryResponseProduct(), List.of());
+    }
+}
@@ -0,0 +1,153 @@
+package com.sgi.customer.application.service;
+
+import com.sgi.customer.domain.ports.out.FeignExternalService;
+import com.sgi.customer.domain.shared.CustomError;
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import com.sgi.customer.infrastructure.dto.AccountResponse;
+import com.sgi.customer.infrastructure.dto.CardResponse;
+import com.sgi.customer.infrastructure.dto.CreditResponse;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
+import com.sgi.customer.infrastructure.exception.CustomException;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.sgi.customer.domain.shared.Constants.ACCOUNT_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CARD_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CREDIT_SERVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ProductSummaryLoader}.
+ * Covers the strict mode and the partial mode with per-source timeouts.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductSummaryLoaderTest {
+
+    @Mock
+    private FeignExternalService webClient;
+
+    private SummaryProperties properties;
+
+    private ProductSummaryLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummaryProperties();
+        properties.setDeadline(Duration.ofMillis(200));
+        loader = new ProductSummaryLoader(webClient, properties, new MetricsRecorder(new SimpleMeterRegistry()),
+                "http://account", "http://card", "http://credit");
+    }
+
+    @Test
+    void load_shouldReturnAllSources() {
+        mockSources(Flux.just(new CreditResponse()));
+
+        StepVerifier.create(loader.load("client-1", false))
+                .assertNext(summary -> {
+                    assertFalse(summary.isPartial());
+                    assertEquals(1, summary.product().getAccounts().size());
+                    assertEquals(1, summary.product().getCards().size());
+                    assertEquals(1, summary.product().getCredits().size());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void load_shouldLeaveOutSlowSourceInPartialMode() {
+        mockSources(Flux.never());
+
+        StepVerifier.create(loader.load("client-1", true))
+                .assertNext(summary -> {
+                    assertTrue(summary.isPartial());
+                    assertEquals(List.of(ProductSummaryLoader.CREDITS), summary.missingSources());
+                    assertEquals(1, summary.product().getAccounts().size());
+                    assertTrue(summary.product().getCredits().isEmpty());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void load_shouldFailInStrictMode() {
+        mockSources(Flux.error(new CustomException(CustomError.E_SERVICE_UNAVAILABLE)));
+
+        StepVerifier.create(loader.load("client-1", false))
+                .expectError(CustomException.class)
+                .verify();
+    }
+
+    @Test
+    void loadGroup_shouldUseOneCallForMultiClientServices() {
+        properties.getBatch().getMultiClientServices().add(ACCOUNT_SERVICE);
+        when(webClient.get(eq(ACCOUNT_SERVICE), contains("clientIds=client-1,client-2"), isNull(),
+                eq(AccountResponse.class), eq(true)))
+                .thenReturn(Flux.just(new AccountResponse().clientId("client-1"), new AccountResponse().clientId("client-2"),
+                        new AccountResponse().clientId("client-2")));
+        when(webClient.get(eq(CARD_SERVICE), anyString(), isNull(), eq(CardResponse.class), eq(true)))
+                .thenReturn(Flux.just(new CardResponse()));
+        when(webClient.get(eq(CREDIT_SERVICE), anyString(), isNull(), eq(CreditResponse.class), eq(true)))
+                .thenReturn(Flux.just(new CreditResponse()));
+
+        StepVerifier.create(loader.loadGroup(List.of("client-1", "client-2"), false))
+                .assertNext(summaries -> {
+                    assertEquals(1, summaries.get("client-1").product().getAccounts().size());
+                    assertEquals(2, summaries.get("client-2").product().getAccounts().size());
+                    assertFalse(summaries.get("client-2").isPartial());
+                })
+                .verifyComplete();
+
+        verify(webClient, times(1)).get(eq(ACCOUNT_SERVICE), anyString(), isNull(), eq(AccountResponse.class), eq(true));
+        verify(webClient, times(2)).get(eq(CARD_SERVICE), anyString(), isNull(), eq(CardResponse.class), eq(true));
+    }
+
+    @Test
+    void stream_shouldEmitEveryProduct() {
+        mockSources(Flux.just(new CreditResponse(), new CreditResponse(), new CreditResponse()));
+
+        StepVerifier.create(loader.stream("client-1", false)
+                        .map(CustomerSummaryItem::getKind)
+                        .collectList())
+                .assertNext(kinds -> {
+                    assertEquals(5, kinds.size());
+                    assertEquals(3, kinds.stream().filter(kind -> kind == CustomerSummaryItem.KindEnum.CREDIT).count());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void stream_shouldReportStalledSourceInPartialMode() {
+        mockSources(Flux.never());
+
+        StepVerifier.create(loader.stream("client-1", true)
+                        .filter(item -> item.getKind() == CustomerSummaryItem.KindEnum.MISSING_SOURCE))
+                .assertNext(item -> assertEquals(ProductSummaryLoader.CREDITS, item.getSource()))
+                .verifyComplete();
+    }
+
+    private void mockSources(Flux<CreditResponse> credits) {
+        when(webClient.get(eq(ACCOUNT_SERVICE), anyString(), isNull(), eq(AccountResponse.class), eq(true)))
+                .thenReturn(Flux.just(new AccountResponse()));
+        when(webClient.get(eq(CARD_SERVICE), anyString(), isNull(), eq(CardResponse.class), eq(true)))
+                .thenReturn(Flux.just(new CardResponse()));
+        when(webClient.get(eq(CREDIT_SERVICE), anyString(), isNull(), eq(CreditResponse.class), eq(true)))
+                .thenReturn(credits);
+    }
+}
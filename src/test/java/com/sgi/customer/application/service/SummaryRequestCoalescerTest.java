@@ -0,0 +1,114 @@
+package com.sgi.customer.application.service;
+
+import com.sgi.customer.infrastructure.config.SummaryProperties;
+import com.sgi.customer.infrastructure.dto.SummaryResponse;
+import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.sgi.customer.domain.shared.Constants.SUMMARY_COALESCED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link SummaryRequestCoalescer}.
+ * Checks that concurrent requests share one computation and that results are only reused within the window.
+ */
+public class SummaryRequestCoalescerTest {
+
+    private SummaryProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummaryProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    void execute_shouldShareInFlightComputation() {
+        SummaryRequestCoalescer coalescer = newCoalescer();
+        Sinks.One<SummaryResponse> result = Sinks.one();
+
+        Mono<SummaryResponse> first = coalescer.execute("client-1:false", () -> computation(result.asMono()));
+        Mono<SummaryResponse> second = coalescer.execute("client-1:false", () -> computation(result.asMono()));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> result.tryEmitValue(summary()))
+                .assertNext(tuple -> assertEquals(tuple.getT1(), tuple.getT2()))
+                .verifyComplete();
+        assertEquals(1, computations.get());
+        assertEquals(1, meterRegistry.get(SUMMARY_COALESCED).counter().count());
+    }
+
+    @Test
+    void execute_shouldComputeAgainOnceCompleted() {
+        SummaryRequestCoalescer coalescer = newCoalescer();
+
+        StepVerifier.create(coalescer.execute("client-1:false", () -> computation(Mono.just(summary()))))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(coalescer.execute("client-1:false", () -> computation(Mono.just(summary()))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, computations.get());
+    }
+
+    @Test
+    void execute_shouldReuseResultWithinShareWindow() {
+        properties.getCoalesce().setShareWindow(Duration.ofMinutes(1));
+        SummaryRequestCoalescer coalescer = newCoalescer();
+
+        StepVerifier.create(coalescer.execute("client-1:false", () -> computation(Mono.just(summary()))))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(coalescer.execute("client-1:false", () -> computation(Mono.just(summary()))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    void execute_shouldNotReuseFailures() {
+        properties.getCoalesce().setShareWindow(Duration.ofMinutes(1));
+        SummaryRequestCoalescer coalescer = newCoalescer();
+
+        StepVerifier.create(coalescer.execute("client-1:false",
+                        () -> computation(Mono.error(new IllegalStateException("down")))))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(coalescer.execute("client-1:false", () -> computation(Mono.just(summary()))))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(2, computations.get());
+    }
+
+    private SummaryRequestCoalescer newCoalescer() {
+        return new SummaryRequestCoalescer(properties, new MetricsRecorder(meterRegistry));
+    }
+
+    private Mono<SummaryResponse> computation(Mono<SummaryResponse> result) {
+        return Mono.defer(() -> {
+            computations.incrementAndGet();
+            return result;
+        });
+    }
+
+    private static SummaryResponse summary() {
+        return new SummaryResponse("client-1").name("name").product(new SummaryResponseProduct());
+    }
+}
@@ -0,0 +1,63 @@
+package com.sgi.customer.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link WebClientConfig}.
+ * Verifies that the pool limits are taken from the external services settings and that response
+ * bodies are bounded.
+ */
+public class WebClientConfigTest {
+
+    @Test
+    void connectionProvider_shouldApplyPoolLimits() {
+        ExternalServiceProperties properties = new ExternalServiceProperties();
+        properties.getHttp().setMaxConnections(10);
+        properties.getHttp().setHostMaxConnections(Map.of("card-service:8080", 20));
+
+        ConnectionProvider provider = new WebClientConfig().externalServicesConnectionProvider(properties);
+        try {
+            assertEquals(10, provider.maxConnections());
+            assertEquals(20, provider.maxConnectionsPerHost()
+                    .get(InetSocketAddress.createUnresolved("card-service", 8080)));
+        } finally {
+            provider.dispose();
+        }
+    }
+
+    @Test
+    void limited_shouldFailResponsesLargerThanTheLimit() {
+        ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .body("0123456789")
+                .build();
+
+        StepVerifier.create(WebClientConfig.limited(response, 5).bodyToMono(String.class))
+                .expectError(DataBufferLimitException.class)
+                .verify();
+    }
+
+    @Test
+    void limited_shouldPassResponsesWithinTheLimit() {
+        ClientResponse response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .body("01234")
+                .build();
+
+        StepVerifier.create(WebClientConfig.limited(response, 5).bodyToMono(String.class))
+                .expectNext("01234")
+                .verifyComplete();
+    }
+}
@@ -1,9 +1,22 @@
 package com.sgi.customer.infrastructure.controller;
 
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
 import com.sgi.customer.domain.ports.in.CustomerService;
+import com.sgi.customer.infrastructure.dto.CustomerBatchDeleteRequest;
+import com.sgi.customer.infrastructure.dto.CustomerBatchDeleteResponse;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.dto.CustomerBatchResponse;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.dto.CustomerPatchRequest;
 import com.sgi.customer.infrastructure.dto.CustomerRequest;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryBatchRequest;
+import com.sgi.customer.infrastructure.dto.CustomerSummaryItem;
+import com.sgi.customer.infrastructure.dto.SummaryResponse;
+import com.sgi.customer.infrastructure.dto.SummaryResponseProduct;
 import com.sgi.customer.infrastructure.helper.FactoryTest;
 import com.sgi.customer.infrastructure.mapper.CustomerMapper;
 import org.junit.jupiter.api.Assertions;
@@ -16,8 +29,10 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static java.util.UUID.randomUUID;
@@ -59,6 +74,25 @@ public class CustomerControllerTest {
         Mockito.verify(customerService, times(1)).createCustomer(any(Mono.class));
     }
 
+    @Test
+    void createCustomersBatch_shouldReturnBatchResponse() {
+        CustomerBatchResponse batchResponse = new CustomerBatchResponse()
+                .total(1)
+                .created(1)
+                .failed(0)
+                .results(List.of(new CustomerBatchItemResult().index(0)
+                        .status(CustomerBatchItemResult.StatusEnum.CREATED)));
+        Mockito.when(customerService.createCustomers(any(Flux.class))).thenReturn(Mono.just(batchResponse));
+        webTestClient.post()
+                .uri("/v1/customers:batch")
+                .bodyValue(List.of(FactoryTest.toFactoryCustomer(CustomerRequest.class)))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerBatchResponse.class)
+                .value(actual -> Assertions.assertEquals(1, actual.getCreated()));
+        Mockito.verify(customerService, times(1)).createCustomers(any(Flux.class));
+    }
+
     @Test
     void deleteCustomer_shouldReturnOkResponse() {
         String customerId = randomUUID().toString();
@@ -70,11 +104,84 @@ public class CustomerControllerTest {
                 .isOk();
     }
 
+    @Test
+    void deleteCustomersBatch_shouldReturnDeletedCount() {
+        Mockito.when(customerService.deleteCustomers(List.of("client-1", "client-2")))
+                .thenReturn(Mono.just(new CustomerBatchDeleteResponse(2, 2)));
+        webTestClient.post()
+                .uri("/v1/customers:batchDelete")
+                .bodyValue(new CustomerBatchDeleteRequest().customerIds(List.of("client-1", "client-2")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerBatchDeleteResponse.class)
+                .value(actual -> Assertions.assertEquals(2, actual.getDeleted()));
+        Mockito.verify(customerService, times(1)).deleteCustomers(List.of("client-1", "client-2"));
+    }
+
+    @Test
+    void getCustomerChanges_shouldStreamServerSentEvents() {
+        CustomerChangeEvent event = new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.DELETED, "client-1");
+        Mockito.when(customerService.getCustomerChanges()).thenReturn(Flux.just(event));
+        Flux<CustomerChangeEvent> body = webTestClient.get()
+                .uri("/v1/customers/changes")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .returnResult(CustomerChangeEvent.class)
+                .getResponseBody();
+        StepVerifier.create(body)
+                .assertNext(actual -> Assertions.assertEquals("client-1", actual.getCustomerId()))
+                .verifyComplete();
+    }
+
+    @Test
+    void evictCustomerSummary_shouldReturnNoContent() {
+        String customerId = randomUUID().toString();
+        Mockito.when(customerService.evictCustomerSummary(customerId)).thenReturn(Mono.empty());
+        webTestClient.delete()
+                .uri("/v1/customers/{customerId}/summary/cache", customerId)
+                .exchange()
+                .expectStatus()
+                .isNoContent();
+        Mockito.verify(customerService, times(1)).evictCustomerSummary(customerId);
+    }
+
+    @Test
+    void getCustomerSummaries_shouldStreamSummaries() {
+        SummaryResponse summary = new SummaryResponse("client-1").name("name").product(new SummaryResponseProduct());
+        Mockito.when(customerService.getCustomerSummaries(List.of("client-1"), true)).thenReturn(Flux.just(summary));
+        webTestClient.post()
+                .uri("/v1/customers/summary:batch?partial=true")
+                .bodyValue(new CustomerSummaryBatchRequest().customerIds(List.of("client-1")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(SummaryResponse.class)
+                .hasSize(1);
+        Mockito.verify(customerService, times(1)).getCustomerSummaries(List.of("client-1"), true);
+    }
+
+    @Test
+    void streamCustomerSummary_shouldStreamNdjson() {
+        Mockito.when(customerService.streamCustomerSummary("client-1", false)).thenReturn(Flux.just(
+                new CustomerSummaryItem(CustomerSummaryItem.KindEnum.CUSTOMER).customerId("client-1"),
+                new CustomerSummaryItem(CustomerSummaryItem.KindEnum.CARD)));
+        webTestClient.get()
+                .uri("/v1/customers/client-1/summary:stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(CustomerSummaryItem.class)
+                .hasSize(2);
+    }
+
     @Test
     void getAllCustomers_shouldReturnFluxOfCustomerResponse() {
         List<CustomerResponse> customers =  FactoryTest.toFactoryListCustomers();
         Flux<CustomerResponse> accountsFlux = Flux.fromIterable(customers);
-        Mockito.when(customerService.getAllCustomers()).thenReturn(accountsFlux);
+        Mockito.when(customerService.getAllCustomers(null, null, CustomerFilter.NONE, CustomerFields.ALL))
+                .thenReturn(accountsFlux);
         webTestClient.get()
                 .uri("/v1/customers")
                 .exchange()
@@ -83,11 +190,118 @@ public class CustomerControllerTest {
                 .value(list -> assertThat(list).hasSize(2));
     }
 
+    @Test
+    void getAllCustomers_shouldPassCursorParameters() {
+        List<CustomerResponse> customers =  FactoryTest.toFactoryListCustomers();
+        String after = randomUUID().toString();
+        Mockito.when(customerService.getAllCustomers(2, after, CustomerFilter.NONE, CustomerFields.ALL))
+                .thenReturn(Flux.fromIterable(customers));
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/customers")
+                        .queryParam("limit", 2)
+                        .queryParam("after", after)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerResponse.class)
+                .value(list -> assertThat(list).hasSize(2));
+        Mockito.verify(customerService, times(1)).getAllCustomers(2, after, CustomerFilter.NONE, CustomerFields.ALL);
+    }
+
+    @Test
+    void searchCustomers_shouldPassQueryAndPage() {
+        List<CustomerResponse> customers =  FactoryTest.toFactoryListCustomers();
+        Mockito.when(customerService.searchCustomers("jose perez", 10, 20, CustomerFields.ALL))
+                .thenReturn(Flux.fromIterable(customers));
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/customers/search")
+                        .queryParam("q", "jose perez")
+                        .queryParam("limit", 10)
+                        .queryParam("offset", 20)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerResponse.class)
+                .value(list -> assertThat(list).hasSize(2));
+        Mockito.verify(customerService, times(1)).searchCustomers("jose perez", 10, 20, CustomerFields.ALL);
+    }
+
+    @Test
+    void getCustomerStats_shouldReturnStats() {
+        CustomerStats stats = new CustomerStats().total(3L).byType(Map.of("PERSONAL", 2L, "BUSINESS", 1L))
+                .byProfile(Map.of("VIP", 1L)).source(CustomerStats.SourceEnum.COUNTERS);
+        Mockito.when(customerService.getCustomerStats()).thenReturn(Mono.just(stats));
+        webTestClient.get()
+                .uri("/v1/customers/stats")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerStats.class)
+                .value(body -> {
+                    assertThat(body.getTotal()).isEqualTo(3L);
+                    assertThat(body.getByType()).containsEntry("BUSINESS", 1L);
+                    assertThat(body.getSource()).isEqualTo(CustomerStats.SourceEnum.COUNTERS);
+                });
+    }
+
+    @Test
+    void getAllCustomers_shouldPassFilterParameters() {
+        List<CustomerResponse> customers =  FactoryTest.toFactoryListCustomers();
+        CustomerFilter filter = new CustomerFilter(null, null, "PERSONAL", "VIP");
+        Mockito.when(customerService.getAllCustomers(null, null, filter, CustomerFields.ALL))
+                .thenReturn(Flux.fromIterable(customers));
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/customers")
+                        .queryParam("type", "PERSONAL")
+                        .queryParam("profile", "VIP")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerResponse.class)
+                .value(list -> assertThat(list).hasSize(2));
+        Mockito.verify(customerService, times(1)).getAllCustomers(null, null, filter, CustomerFields.ALL);
+    }
+
+    @Test
+    void getAllCustomers_shouldPassSelectedFields() {
+        List<CustomerResponse> customers =  FactoryTest.toFactoryListCustomers();
+        CustomerFields fields = CustomerFields.of(List.of("name", "type"));
+        Mockito.when(customerService.getAllCustomers(5, null, CustomerFilter.NONE, fields))
+                .thenReturn(Flux.fromIterable(customers));
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/v1/customers")
+                        .queryParam("limit", 5)
+                        .queryParam("fields", "name,type")
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(CustomerResponse.class)
+                .value(list -> assertThat(list).hasSize(2));
+        Mockito.verify(customerService, times(1)).getAllCustomers(5, null, CustomerFilter.NONE, fields);
+    }
+
+    @Test
+    void getAllCustomers_shouldStreamNdjson() {
+        List<CustomerResponse> customers =  FactoryTest.toFactoryListCustomers();
+        Mockito.when(customerService.getAllCustomers(null, null, CustomerFilter.NONE, CustomerFields.ALL))
+                .thenReturn(Flux.fromIterable(customers));
+        Flux<CustomerResponse> body = webTestClient.get()
+                .uri("/v1/customers")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CustomerResponse.class)
+                .getResponseBody();
+        StepVerifier.create(body)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
     @Test
     void getCustomerById_shouldReturnCustomerResponse() {
         CustomerResponse customerResponse = FactoryTest.toFactoryCustomer(CustomerResponse.class);
         customerResponse.setId(UUID.randomUUID().toString());
-        Mockito.when(customerService.getCustomerById(customerResponse.getId()))
+        Mockito.when(customerService.getCustomerById(customerResponse.getId(), CustomerFields.ALL))
                 .thenReturn(Mono.just(customerResponse));
         webTestClient.get()
                 .uri("/v1/customers/{customerId}", customerResponse.getId())
@@ -124,4 +338,25 @@ public class CustomerControllerTest {
         Mockito.verify(customerService, times(1)).updateCustomer(eq(customerId), any(Mono.class));
     }
 
+    @Test
+    void patchCustomer_shouldReturnCustomerResponse() {
+        String customerId = UUID.randomUUID().toString();
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        customer.setId(customerId);
+        customer.setVersion(2L);
+        CustomerResponse customerResponse = CustomerMapper.INSTANCE.toCustomerResponse(customer);
+
+        Mockito.when(customerService.patchCustomer(eq(customerId), any(Mono.class)))
+                .thenReturn(Mono.just(customerResponse));
+
+        webTestClient.patch()
+                .uri("/v1/customers/{customerId}", customerId)
+                .bodyValue(new CustomerPatchRequest().email("new@mail.com").version(1L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerResponse.class)
+                .value(response -> Assertions.assertEquals(2L, response.getVersion()));
+        Mockito.verify(customerService, times(1)).patchCustomer(eq(customerId), any(Mono.class));
+    }
+
 }
@@ -0,0 +1,125 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.ports.out.CustomerChangeSink;
+import com.sgi.customer.infrastructure.config.CustomerChangeProperties;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.helper.FactoryTest;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CustomerChangeStreamListener}.
+ * Covers the translation of MongoDB change stream events into customer change events and the checkpointing.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CustomerChangeStreamListenerTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Test
+    void toChangeEvent_shouldCarryCustomerOfInsert() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        ChangeStreamEvent<Customer> event = event(OperationType.INSERT, customer.getId(), customer);
+
+        Optional<CustomerChangeEvent> change = CustomerChangeStreamListener.toChangeEvent(event);
+
+        assertTrue(change.isPresent());
+        assertEquals(CustomerChangeEvent.TypeEnum.CREATED, change.get().getType());
+        assertEquals(customer.getId(), change.get().getCustomerId());
+        assertEquals(customer.getDocumentId(), change.get().getCustomer().getDocumentId());
+        assertNotNull(change.get().getOccurredAt());
+    }
+
+    @Test
+    void toChangeEvent_shouldOnlyCarryIdOfDelete() {
+        ChangeStreamEvent<Customer> event = event(OperationType.DELETE, "client-1", null);
+
+        Optional<CustomerChangeEvent> change = CustomerChangeStreamListener.toChangeEvent(event);
+
+        assertTrue(change.isPresent());
+        assertEquals(CustomerChangeEvent.TypeEnum.DELETED, change.get().getType());
+        assertNull(change.get().getCustomer());
+    }
+
+    @Test
+    void toChangeEvent_shouldIgnoreCollectionEvents() {
+        ChangeStreamEvent<Customer> event = mock(ChangeStreamEvent.class);
+        when(event.getOperationType()).thenReturn(OperationType.DROP);
+
+        assertTrue(CustomerChangeStreamListener.toChangeEvent(event).isEmpty());
+    }
+
+    @Test
+    void checkpoint_shouldSkipWhenNothingWasPublished() {
+        CustomerChangeStreamListener listener = new CustomerChangeStreamListener(mongoTemplate, List.of(),
+                new CustomerChangeProperties());
+
+        StepVerifier.create(listener.checkpoint())
+                .verifyComplete();
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void publish_shouldFailWhenASinkRejectsTheEvent() {
+        CustomerChangeSink accepting = mock(CustomerChangeSink.class);
+        CustomerChangeSink failing = mock(CustomerChangeSink.class);
+        CustomerChangeEvent change = new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.DELETED, "client-1");
+        when(accepting.publish(change)).thenReturn(Mono.empty());
+        when(failing.publish(change)).thenReturn(Mono.error(new IllegalStateException("broker down")));
+        CustomerChangeStreamListener listener = new CustomerChangeStreamListener(mongoTemplate,
+                List.of(accepting, failing), new CustomerChangeProperties());
+
+        StepVerifier.create(listener.publish(change))
+                .verifyError(IllegalStateException.class);
+    }
+
+    @Test
+    void checkpointId_shouldBeKeyedByInstance() {
+        CustomerChangeProperties properties = new CustomerChangeProperties();
+        properties.setInstanceId("customer-1");
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customers");
+        CustomerChangeStreamListener listener = new CustomerChangeStreamListener(mongoTemplate, List.of(), properties);
+
+        assertEquals("customers:customer-1", listener.checkpointId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ChangeStreamEvent<Customer> event(OperationType type, String customerId, Customer body) {
+        ChangeStreamDocument<Document> raw = mock(ChangeStreamDocument.class);
+        when(raw.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonString(customerId)));
+        ChangeStreamEvent<Customer> event = mock(ChangeStreamEvent.class);
+        when(event.getOperationType()).thenReturn(type);
+        when(event.getRaw()).thenReturn(raw);
+        when(event.getTimestamp()).thenReturn(Instant.now());
+        if (body != null) {
+            when(event.getBody()).thenReturn(body);
+        }
+        return event;
+    }
+}
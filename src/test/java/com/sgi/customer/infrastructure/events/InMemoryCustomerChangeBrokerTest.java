@@ -0,0 +1,36 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.sgi.customer.infrastructure.config.CustomerChangeProperties;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+/**
+ * Unit tests for {@link InMemoryCustomerChangeBroker}.
+ * Checks that every subscriber gets the events published after it subscribed.
+ */
+public class InMemoryCustomerChangeBrokerTest {
+
+    private final InMemoryCustomerChangeBroker broker = new InMemoryCustomerChangeBroker(new CustomerChangeProperties());
+
+    @Test
+    void changes_shouldDeliverEventsToEverySubscriber() {
+        CustomerChangeEvent created = new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.CREATED, "client-1");
+        CustomerChangeEvent deleted = new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.DELETED, "client-1");
+
+        StepVerifier.create(broker.changes().take(2))
+                .then(() -> StepVerifier.create(broker.changes().take(1))
+                        .then(() -> broker.publish(created).block())
+                        .expectNext(created)
+                        .verifyComplete())
+                .then(() -> broker.publish(deleted).block())
+                .expectNext(created, deleted)
+                .verifyComplete();
+    }
+
+    @Test
+    void publish_shouldCompleteWithoutSubscribers() {
+        StepVerifier.create(broker.publish(new CustomerChangeEvent(CustomerChangeEvent.TypeEnum.UPDATED, "client-1")))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,123 @@
+package com.sgi.customer.infrastructure.events;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.domain.ports.out.CustomerEventPublisher;
+import com.sgi.customer.infrastructure.config.OutboxProperties;
+import com.sgi.customer.infrastructure.dto.CustomerChangeEvent;
+import com.sgi.customer.infrastructure.helper.FactoryTest;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OutboxDispatcher}.
+ * Checks that claimed batches are removed only after the publisher acknowledged them.
+ */
+@ExtendWith(MockitoExtension.class)
+public class OutboxDispatcherTest {
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private CustomerEventPublisher publisher;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(mongoTemplate, publisher, new OutboxProperties(),
+                new MetricsRecorder(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void dispatchBatch_shouldPublishAndRemoveClaimedEvents() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        List<OutboxMessage> messages = List.of(message("1", OutboxMessage.CREATED, customer),
+                message("2", OutboxMessage.DELETED, null));
+        mockClaim(messages);
+        when(publisher.publish(anyList())).thenReturn(Mono.empty());
+        when(mongoTemplate.remove(any(Query.class), eq(OutboxMessage.class)))
+                .thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+
+        StepVerifier.create(dispatcher.dispatchBatch())
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(publisher).publish(argThat(events -> events.size() == 2
+                && events.get(0).getType() == CustomerChangeEvent.TypeEnum.CREATED
+                && events.get(1).getType() == CustomerChangeEvent.TypeEnum.DELETED));
+        verify(mongoTemplate).remove(any(Query.class), eq(OutboxMessage.class));
+    }
+
+    @Test
+    void dispatchBatch_shouldKeepEventsWhenPublishFails() {
+        mockClaim(List.of(message("1", OutboxMessage.UPDATED, FactoryTest.toFactoryEntityCustomer())));
+        when(publisher.publish(anyList())).thenReturn(Mono.error(new IllegalStateException("broker down")));
+
+        StepVerifier.create(dispatcher.drain())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(OutboxMessage.class));
+    }
+
+    @Test
+    void dispatchBatch_shouldSkipEmptyOutbox() {
+        when(mongoTemplate.find(any(Query.class), eq(OutboxMessage.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(dispatcher.dispatchBatch())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(publisher, never()).publish(anyList());
+    }
+
+    @Test
+    void toChangeEvent_shouldOnlyCarryIdOfDelete() {
+        CustomerChangeEvent event = OutboxDispatcher.toChangeEvent(OutboxMessage.of(OutboxMessage.DELETED, "client-1",
+                null));
+
+        assertEquals(CustomerChangeEvent.TypeEnum.DELETED, event.getType());
+        assertEquals("client-1", event.getCustomerId());
+        assertNull(event.getCustomer());
+    }
+
+    private void mockClaim(List<OutboxMessage> messages) {
+        when(mongoTemplate.find(any(Query.class), eq(OutboxMessage.class)))
+                .thenReturn(Flux.fromIterable(messages), Flux.fromIterable(messages));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(OutboxMessage.class)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(messages.size(), (long) messages.size(), null)));
+    }
+
+    private static OutboxMessage message(String id, String type, Customer customer) {
+        OutboxMessage message = OutboxMessage.of(type, customer != null ? customer.getId() : "client-" + id, customer);
+        message.setId(id);
+        return message;
+    }
+}
@@ -0,0 +1,269 @@
+package com.sgi.customer.infrastructure.feign;
+
+import com.sgi.customer.infrastructure.config.ExternalServiceProperties;
+import com.sgi.customer.infrastructure.dto.AccountResponse;
+import com.sgi.customer.infrastructure.exception.CustomException;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.sgi.customer.domain.shared.Constants.ACCOUNT_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.CARD_SERVICE;
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_HEDGES;
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_RETRIES;
+import static com.sgi.customer.domain.shared.Constants.DOWNSTREAM_TIMER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link FeignExternalServiceImpl}.
+ * Uses a stubbed exchange function instead of a real HTTP server and verifies
+ * that every downstream service gets its own circuit breaker, bulkhead, hedging and retry budget.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FeignExternalServiceImplTest {
+
+    @Mock
+    private ReactiveCircuitBreakerFactory circuitBreakerFactory;
+
+    private ExternalServiceProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ExternalServiceProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        ExternalServiceProperties.ServiceSettings accountSettings = new ExternalServiceProperties.ServiceSettings();
+        accountSettings.setMaxConcurrentCalls(1);
+        properties.getServices().put(ACCOUNT_SERVICE, accountSettings);
+        when(circuitBreakerFactory.create(anyString())).thenReturn(new PassThroughCircuitBreaker());
+    }
+
+    @Test
+    void get_shouldUseOneCircuitBreakerPerService() {
+        FeignExternalServiceImpl service = newService(Duration.ZERO);
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectNext("ok")
+                .verifyComplete();
+        StepVerifier.create(Mono.from(service.get(CARD_SERVICE, "http://card/v1/cards", null,
+                        String.class, false)))
+                .expectNext("ok")
+                .verifyComplete();
+
+        verify(circuitBreakerFactory).create(ACCOUNT_SERVICE);
+        verify(circuitBreakerFactory).create(CARD_SERVICE);
+    }
+
+    @Test
+    void get_shouldTimeCallsByServiceAndOutcome() {
+        FeignExternalServiceImpl service = newService(Duration.ZERO);
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get(DOWNSTREAM_TIMER)
+                .tag("service", ACCOUNT_SERVICE)
+                .tag(MetricsRecorder.OUTCOME_TAG, "success")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void get_shouldRejectOnlyTheSaturatedService() {
+        FeignExternalServiceImpl service = newService(Duration.ofMillis(500));
+        Disposable inFlight = Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                String.class, false)).subscribe();
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-004"))
+                .verify();
+        StepVerifier.create(Mono.from(service.get(CARD_SERVICE, "http://card/v1/cards", null,
+                        String.class, false)))
+                .expectNext("ok")
+                .verifyComplete();
+        inFlight.dispose();
+    }
+
+    @Test
+    void get_shouldFailOnErrorStatus() {
+        FeignExternalServiceImpl service = newService(Duration.ZERO, HttpStatus.INTERNAL_SERVER_ERROR);
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts?clientId=1", null,
+                        String.class, true)))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-000"))
+                .verify();
+    }
+
+    @Test
+    void get_shouldStreamEveryElementOfAList() {
+        FeignExternalServiceImpl service = newService(request -> jsonResponse(
+                "[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]"));
+
+        StepVerifier.create(Flux.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts?clientId=1", null,
+                        AccountResponse.class, true)).map(AccountResponse::getId))
+                .expectNext("1", "2", "3")
+                .verifyComplete();
+    }
+
+    @Test
+    void get_shouldFailListsLongerThanTheLimit() {
+        properties.getServices().get(ACCOUNT_SERVICE).setMaxElements(2);
+        FeignExternalServiceImpl service = newService(request -> jsonResponse(
+                "[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]"));
+
+        StepVerifier.create(Flux.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts?clientId=1", null,
+                        AccountResponse.class, true)))
+                .expectNextCount(2)
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-009"))
+                .verify();
+    }
+
+    @Test
+    void get_shouldHedgeSlowCalls() {
+        ExternalServiceProperties.HedgeSettings hedge = properties.getServices().get(ACCOUNT_SERVICE).getHedge();
+        hedge.setEnabled(true);
+        hedge.setMaxDelay(Duration.ofMillis(50));
+        AtomicInteger calls = new AtomicInteger();
+        FeignExternalServiceImpl service = newService(request -> calls.getAndIncrement() == 0
+                ? response(Duration.ofSeconds(5), HttpStatus.OK)
+                : response(Duration.ZERO, HttpStatus.OK));
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectNext("ok")
+                .expectComplete()
+                .verify(Duration.ofSeconds(1));
+
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.get(DOWNSTREAM_HEDGES).tag("result", "won").counter().count());
+    }
+
+    @Test
+    void get_shouldRetryServerErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        FeignExternalServiceImpl service = newService(request -> calls.getAndIncrement() == 0
+                ? response(Duration.ZERO, HttpStatus.SERVICE_UNAVAILABLE)
+                : response(Duration.ZERO, HttpStatus.OK));
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.get(DOWNSTREAM_RETRIES).tag("result", "fired").counter().count());
+    }
+
+    @Test
+    void get_shouldNotRetryBeyondTheBudget() {
+        ExternalServiceProperties.RetrySettings retry = properties.getServices().get(ACCOUNT_SERVICE).getRetry();
+        retry.setBudgetRatio(0);
+        retry.setBudgetReserve(0);
+        AtomicInteger calls = new AtomicInteger();
+        FeignExternalServiceImpl service = newService(request -> {
+            calls.incrementAndGet();
+            return response(Duration.ZERO, HttpStatus.SERVICE_UNAVAILABLE);
+        });
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-000"))
+                .verify();
+
+        assertEquals(1, calls.get());
+        assertEquals(1, meterRegistry.get(DOWNSTREAM_RETRIES).tag("result", "rejected").counter().count());
+    }
+
+    @Test
+    void get_shouldNotRetryClientErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        FeignExternalServiceImpl service = newService(request -> {
+            calls.incrementAndGet();
+            return response(Duration.ZERO, HttpStatus.NOT_FOUND);
+        });
+
+        StepVerifier.create(Mono.from(service.get(ACCOUNT_SERVICE, "http://account/v1/accounts", null,
+                        String.class, false)))
+                .expectError(CustomException.class)
+                .verify();
+
+        assertEquals(1, calls.get());
+    }
+
+    private FeignExternalServiceImpl newService(Duration latency) {
+        return newService(latency, HttpStatus.OK);
+    }
+
+    private FeignExternalServiceImpl newService(Duration latency, HttpStatus status) {
+        return newService(request -> response(latency, status));
+    }
+
+    private FeignExternalServiceImpl newService(ExchangeFunction exchangeFunction) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(exchangeFunction)
+                .build();
+        return new FeignExternalServiceImpl(webClient, circuitBreakerFactory, BulkheadRegistry.ofDefaults(), properties,
+                new MetricsRecorder(meterRegistry));
+    }
+
+    private static Mono<ClientResponse> jsonResponse(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static Mono<ClientResponse> response(Duration latency, HttpStatus status) {
+        return Mono.delay(latency)
+                .map(tick -> ClientResponse.create(status)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                        .body("ok")
+                        .build());
+    }
+
+    private static class PassThroughCircuitBreaker implements ReactiveCircuitBreaker {
+
+        @Override
+        public <T> Mono<T> run(Mono<T> toRun, Function<Throwable, Mono<T>> fallback) {
+            return toRun.onErrorResume(fallback);
+        }
+
+        @Override
+        public <T> Flux<T> run(Flux<T> toRun, Function<Throwable, Flux<T>> fallback) {
+            return toRun.onErrorResume(fallback);
+        }
+    }
+}
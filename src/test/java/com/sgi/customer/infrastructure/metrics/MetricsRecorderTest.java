@@ -0,0 +1,56 @@
+package com.sgi.customer.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link MetricsRecorder}.
+ * Verifies that timers are tagged with the outcome of the timed operation and only publish a histogram.
+ */
+public class MetricsRecorderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MetricsRecorder metrics = new MetricsRecorder(registry);
+
+    @Test
+    void time_shouldTagSuccessAndError() {
+        StepVerifier.create(metrics.time("test.timer", Tags.of("method", "ok"), Mono.just(1)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(metrics.time("test.timer", Tags.of("method", "ko"), Flux.error(new IllegalStateException())))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(1, registry.get("test.timer").tags("method", "ok", MetricsRecorder.OUTCOME_TAG, "success")
+                .timer().count());
+        assertEquals(1, registry.get("test.timer").tags("method", "ko", MetricsRecorder.OUTCOME_TAG, "error")
+                .timer().count());
+    }
+
+    @Test
+    void time_shouldOnlyPublishHistogram() {
+        metrics.time("test.timer", Tags.of("method", "ok"), Mono.just(1)).block();
+        metrics.time("test.timer", Tags.of("method", "ok"), Mono.just(2)).block();
+
+        Timer timer = registry.get("test.timer").timer();
+        assertEquals(2, timer.count());
+        assertEquals(0, timer.takeSnapshot().percentileValues().length);
+        assertTrue(timer.takeSnapshot().histogramCounts().length > 0);
+    }
+
+    @Test
+    void recordSize_shouldRecordAmount() {
+        metrics.recordSize("test.size", Tags.empty(), 3);
+
+        assertEquals(3, registry.get("test.size").summary().totalAmount());
+    }
+}
@@ -0,0 +1,199 @@
+package com.sgi.customer.infrastructure.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
+import com.sgi.customer.infrastructure.exception.CustomException;
+import com.sgi.customer.infrastructure.helper.FactoryTest;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import com.sgi.customer.infrastructure.repository.impl.BlockingCustomerRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link BlockingCustomerRepositoryImpl}.
+ * The synchronous template is mocked and calls run on the immediate scheduler.
+ */
+@ExtendWith(MockitoExtension.class)
+public class BlockingCustomerRepositoryImplTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private MongoConverter mongoConverter;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    private BlockingCustomerRepositoryImpl customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = new BlockingCustomerRepositoryImpl(mongoTemplate,
+                new MetricsRecorder(new SimpleMeterRegistry()), Schedulers.immediate(), Optional.empty());
+    }
+
+    @Test
+    void findById_shouldEmitCustomer() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(mongoTemplate.findById(customer.getId(), Customer.class)).thenReturn(customer);
+
+        StepVerifier.create(customerRepository.findById(customer.getId()))
+                .expectNext(customer)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_shouldCompleteEmptyWhenMissing() {
+        when(mongoTemplate.findById("missing", Customer.class)).thenReturn(null);
+
+        StepVerifier.create(customerRepository.findById("missing"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_shouldStreamCustomers() {
+        when(mongoTemplate.stream(any(Query.class), eq(Customer.class))).thenReturn(Stream.of(
+                FactoryTest.toFactoryEntityCustomer(), FactoryTest.toFactoryEntityCustomer()));
+
+        StepVerifier.create(customerRepository.findAll())
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void save_shouldMapDuplicateDocument() {
+        when(mongoTemplate.save(any(Customer.class))).thenThrow(new DuplicateKeyException("duplicate"));
+
+        StepVerifier.create(customerRepository.save(FactoryTest.toFactoryEntityCustomer()))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-003"))
+                .verify();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAll_shouldRecordCreatedEventsInTransaction() {
+        customerRepository = new BlockingCustomerRepositoryImpl(mongoTemplate,
+                new MetricsRecorder(new SimpleMeterRegistry()), Schedulers.immediate(), Optional.of(transactionTemplate));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Customer stored = FactoryTest.toFactoryEntityCustomer();
+        stored.setDocumentId("11111111");
+        Customer created = FactoryTest.toFactoryEntityCustomer();
+        created.setDocumentId("22222222");
+        Customer concurrent = FactoryTest.toFactoryEntityCustomer();
+        concurrent.setDocumentId("33333333");
+        MongoBulkWriteException exception = mock(MongoBulkWriteException.class);
+        when(exception.getWriteErrors())
+                .thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+        when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+        when(mongoTemplate.getCollection("customer")).thenReturn(collection);
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class)))
+                .thenReturn(List.of(Customer.builder().documentId(stored.getDocumentId()).build()));
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(exception)
+                .thenReturn(mock(BulkWriteResult.class));
+        ArgumentCaptor<Collection<OutboxMessage>> messages = ArgumentCaptor.forClass(Collection.class);
+
+        StepVerifier.create(customerRepository.insertAll(List.of(stored, created, concurrent))
+                        .map(CustomerBatchItemResult::getStatus))
+                .expectNext(CustomerBatchItemResult.StatusEnum.DUPLICATE, CustomerBatchItemResult.StatusEnum.CREATED,
+                        CustomerBatchItemResult.StatusEnum.DUPLICATE)
+                .verifyComplete();
+
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(mongoTemplate).insertAll(messages.capture());
+        List<OutboxMessage> recorded = List.copyOf(messages.getValue());
+        assertEquals(1, recorded.size());
+        assertEquals(created.getId(), recorded.get(0).getCustomerId());
+    }
+
+    @Test
+    void update_shouldReportVersionConflict() {
+        Customer changes = Customer.builder().id("1").name("Ana").build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Customer.class))).thenReturn(null);
+        when(mongoTemplate.exists(any(Query.class), eq(Customer.class))).thenReturn(true);
+
+        StepVerifier.create(customerRepository.update(changes, 3L))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-007"))
+                .verify();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteById_shouldRecordDeletedEventInTransaction() {
+        customerRepository = new BlockingCustomerRepositoryImpl(mongoTemplate,
+                new MetricsRecorder(new SimpleMeterRegistry()), Schedulers.immediate(), Optional.of(transactionTemplate));
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(mongoTemplate.remove(any(Query.class), eq(Customer.class))).thenReturn(DeleteResult.acknowledged(1));
+        ArgumentCaptor<Collection<OutboxMessage>> messages = ArgumentCaptor.forClass(Collection.class);
+
+        StepVerifier.create(customerRepository.deleteById("1"))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(mongoTemplate).insertAll(messages.capture());
+        List<OutboxMessage> recorded = List.copyOf(messages.getValue());
+        assertEquals(1, recorded.size());
+        assertEquals(OutboxMessage.DELETED, recorded.get(0).getType());
+        assertEquals("1", recorded.get(0).getCustomerId());
+    }
+
+    @Test
+    void deleteById_shouldNotRecordEventsWithoutOutbox() {
+        when(mongoTemplate.remove(any(Query.class), eq(Customer.class))).thenReturn(DeleteResult.acknowledged(0));
+
+        StepVerifier.create(customerRepository.deleteById("1"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(mongoTemplate, never()).insertAll(any());
+    }
+}
@@ -0,0 +1,292 @@
+package com.sgi.customer.infrastructure.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerSummaryView;
+import com.sgi.customer.domain.ports.out.CustomerRepository;
+import com.sgi.customer.infrastructure.cache.InMemoryRemoteCache;
+import com.sgi.customer.infrastructure.cache.RemoteCache;
+import com.sgi.customer.infrastructure.config.CacheProperties;
+import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.helper.FactoryTest;
+import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.repository.impl.CachedCustomerRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CachedCustomerRepositoryImpl}.
+ * Verifies read-through caching, request coalescing and invalidation on writes, on one instance and
+ * across instances sharing a remote cache.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachedCustomerRepositoryImplTest {
+
+    private static final Duration INVALIDATION_DELAY = Duration.ofMillis(200);
+
+    private static final String KEY_PREFIX = new CacheProperties.RemoteSettings().getKeyPrefix();
+
+    @Mock
+    private CustomerRepository delegate;
+
+    private CachedCustomerRepositoryImpl customerRepository;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = node(new InMemoryRemoteCache(), false);
+    }
+
+    @Test
+    void findById_shouldQueryDelegateOnlyOnce() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+
+        StepVerifier.create(customerRepository.findById(customer.getId()))
+                .expectNext(customer)
+                .verifyComplete();
+        StepVerifier.create(customerRepository.findById(customer.getId()))
+                .expectNext(customer)
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(customer.getId());
+        assertEquals(1, customerRepository.cacheStats().hitCount());
+        assertEquals(1, customerRepository.cacheStats().missCount());
+    }
+
+    @Test
+    void findById_shouldCoalesceConcurrentMisses() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(delegate.findById(customer.getId()))
+                .thenReturn(Mono.just(customer).delayElement(Duration.ofMillis(100)));
+
+        StepVerifier.create(Mono.zip(customerRepository.findById(customer.getId()),
+                        customerRepository.findById(customer.getId())))
+                .expectNextMatches(tuple -> tuple.getT1() == customer && tuple.getT2() == customer)
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(customer.getId());
+    }
+
+    @Test
+    void findById_shouldNotCacheMissingCustomers() {
+        String customerId = "missing";
+        when(delegate.findById(customerId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(customerRepository.findById(customerId)).verifyComplete();
+        StepVerifier.create(customerRepository.findById(customerId)).verifyComplete();
+
+        verify(delegate, times(2)).findById(customerId);
+    }
+
+    @Test
+    void save_shouldInvalidateCachedEntry() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        CustomerResponse response = CustomerMapper.INSTANCE.toCustomerResponse(customer);
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+        when(delegate.save(customer)).thenReturn(Mono.just(response));
+
+        customerRepository.findById(customer.getId()).block();
+        StepVerifier.create(customerRepository.save(customer))
+                .expectNext(response)
+                .verifyComplete();
+        customerRepository.findById(customer.getId()).block();
+
+        verify(delegate, times(2)).findById(customer.getId());
+    }
+
+    @Test
+    void delete_shouldInvalidateCachedEntry() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+        when(delegate.deleteById(customer.getId())).thenReturn(Mono.just(true));
+
+        customerRepository.findById(customer.getId()).block();
+        StepVerifier.create(customerRepository.deleteById(customer.getId()))
+                .expectNext(true)
+                .verifyComplete();
+        customerRepository.findById(customer.getId()).block();
+
+        verify(delegate, times(2)).findById(customer.getId());
+    }
+
+    @Test
+    void deleteAllById_shouldInvalidateCachedEntries() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        List<String> ids = List.of(customer.getId());
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+        when(delegate.deleteAllById(ids)).thenReturn(Mono.just(1L));
+
+        customerRepository.findById(customer.getId()).block();
+        StepVerifier.create(customerRepository.deleteAllById(ids))
+                .expectNext(1L)
+                .verifyComplete();
+        customerRepository.findById(customer.getId()).block();
+
+        verify(delegate, times(2)).findById(customer.getId());
+    }
+
+    @Test
+    void findAllById_shouldQueryOnlyMissingCustomers() {
+        Customer cached = FactoryTest.toFactoryEntityCustomer();
+        Customer missing = FactoryTest.toFactoryEntityCustomer();
+        missing.setId("other");
+        when(delegate.findById(cached.getId())).thenReturn(Mono.just(cached));
+        when(delegate.findAllById(List.of(missing.getId()))).thenReturn(Flux.just(missing));
+
+        customerRepository.findById(cached.getId()).block();
+        StepVerifier.create(customerRepository.findAllById(List.of(cached.getId(), missing.getId())).collectList())
+                .assertNext(customers -> assertEquals(2, customers.size()))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findAllById(List.of(missing.getId()));
+    }
+
+    @Test
+    void findSummaryViewById_shouldUseCachedCustomer() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+
+        customerRepository.findById(customer.getId()).block();
+        StepVerifier.create(customerRepository.findSummaryViewById(customer.getId()))
+                .expectNext(CustomerSummaryView.of(customer))
+                .verifyComplete();
+
+        verify(delegate, never()).findSummaryViewById(customer.getId());
+    }
+
+    @Test
+    void findSummaryViewsById_shouldProjectOnlyMissingCustomers() {
+        Customer cached = FactoryTest.toFactoryEntityCustomer();
+        CustomerSummaryView missing = new CustomerSummaryView("other", "Jane");
+        when(delegate.findById(cached.getId())).thenReturn(Mono.just(cached));
+        when(delegate.findSummaryViewsById(List.of(missing.id()))).thenReturn(Flux.just(missing));
+
+        customerRepository.findById(cached.getId()).block();
+        StepVerifier.create(customerRepository.findSummaryViewsById(List.of(cached.getId(), missing.id())))
+                .expectNext(CustomerSummaryView.of(cached), missing)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_shouldServeOtherInstancesFromRemoteCache() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        InMemoryRemoteCache remote = new InMemoryRemoteCache();
+        CachedCustomerRepositoryImpl first = node(remote, true);
+        CachedCustomerRepositoryImpl second = node(remote, true);
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+
+        first.findById(customer.getId()).block();
+        StepVerifier.create(second.findById(customer.getId()))
+                .assertNext(found -> assertEquals(customer.getDocumentId(), found.getDocumentId()))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findById(customer.getId());
+        assertEquals(0.0, first.remoteHitRate());
+        assertEquals(1.0, second.remoteHitRate());
+    }
+
+    @Test
+    void update_shouldEvictCopiesOfEveryInstance() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        InMemoryRemoteCache remote = new InMemoryRemoteCache();
+        CachedCustomerRepositoryImpl first = node(remote, true);
+        CachedCustomerRepositoryImpl second = node(remote, true);
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+        when(delegate.update(customer, null)).thenReturn(Mono.just(customer));
+
+        first.findById(customer.getId()).block();
+        second.findById(customer.getId()).block();
+        StepVerifier.create(first.update(customer, null))
+                .expectNext(customer)
+                .verifyComplete();
+        second.findById(customer.getId()).block();
+
+        verify(delegate, times(2)).findById(customer.getId());
+        assertEquals(2, second.cacheStats().missCount());
+    }
+
+    @Test
+    void update_shouldRemoveCopiesLoadedWhileItWasInFlight() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        InMemoryRemoteCache remote = new InMemoryRemoteCache();
+        CachedCustomerRepositoryImpl first = node(remote, true);
+        CachedCustomerRepositoryImpl second = node(remote, true);
+        when(delegate.findById(customer.getId()))
+                .thenReturn(Mono.just(customer).delayElement(Duration.ofMillis(100)));
+        when(delegate.update(customer, null)).thenReturn(Mono.just(customer));
+
+        CompletableFuture<Customer> load = first.findById(customer.getId()).toFuture();
+        second.update(customer, null).block();
+        load.join();
+
+        StepVerifier.create(Mono.delay(INVALIDATION_DELAY.multipliedBy(2)).then(remote.get(KEY_PREFIX + customer.getId())))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllById_shouldQueryOnlyCustomersMissingFromBothTiers() {
+        Customer shared = FactoryTest.toFactoryEntityCustomer();
+        Customer missing = FactoryTest.toFactoryEntityCustomer();
+        missing.setId("other");
+        InMemoryRemoteCache remote = new InMemoryRemoteCache();
+        CachedCustomerRepositoryImpl first = node(remote, true);
+        CachedCustomerRepositoryImpl second = node(remote, true);
+        when(delegate.findById(shared.getId())).thenReturn(Mono.just(shared));
+        when(delegate.findAllById(List.of(missing.getId()))).thenReturn(Flux.just(missing));
+
+        first.findById(shared.getId()).block();
+        StepVerifier.create(second.findAllById(List.of(shared.getId(), missing.getId())).collectList())
+                .assertNext(customers -> assertEquals(2, customers.size()))
+                .verifyComplete();
+
+        verify(delegate, times(1)).findAllById(List.of(missing.getId()));
+        assertEquals(0.5, second.remoteHitRate());
+    }
+
+    @Test
+    void findById_shouldFallBackToDelegateWhenRemoteCacheFails() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        RemoteCache remote = mock(RemoteCache.class);
+        when(remote.subscribe(anyString())).thenReturn(Flux.never());
+        when(remote.get(anyString())).thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(remote.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        when(delegate.findById(customer.getId())).thenReturn(Mono.just(customer));
+
+        StepVerifier.create(node(remote, true).findById(customer.getId()))
+                .expectNext(customer)
+                .verifyComplete();
+    }
+
+    private CachedCustomerRepositoryImpl node(RemoteCache remote, boolean remoteEnabled) {
+        CacheProperties properties = new CacheProperties();
+        properties.setMaximumSize(100);
+        properties.setTtl(Duration.ofMinutes(1));
+        properties.getRemote().setEnabled(remoteEnabled);
+        properties.getRemote().setInvalidationDelay(INVALIDATION_DELAY);
+        CachedCustomerRepositoryImpl node = new CachedCustomerRepositoryImpl(delegate, properties, remote,
+                new ObjectMapper(), new SimpleMeterRegistry());
+        node.start();
+        return node;
+    }
+}
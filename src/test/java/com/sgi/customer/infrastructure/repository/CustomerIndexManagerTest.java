@@ -0,0 +1,106 @@
+package com.sgi.customer.infrastructure.repository;
+
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import com.sgi.customer.infrastructure.repository.impl.CustomerIndexManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static com.sgi.customer.domain.shared.Constants.MISSING_INDEXES_GAUGE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CustomerIndexManager}.
+ * Resolves the indexes declared on the customer and outbox documents with a real mapping context and checks
+ * that failed index creations are reported as missing instead of failing.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CustomerIndexManagerTest {
+
+    private static final String UNIQUE_INDEX = "documentId_unique_index";
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private ReactiveIndexOperations indexOperations;
+
+    @Mock
+    private ReactiveIndexOperations outboxIndexOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CustomerIndexManager indexManager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+        when(mongoTemplate.indexOps(Customer.class)).thenReturn(indexOperations);
+        when(mongoTemplate.getCollectionName(OutboxMessage.class)).thenReturn("customer_outbox");
+        when(mongoTemplate.indexOps(OutboxMessage.class)).thenReturn(outboxIndexOperations);
+        when(outboxIndexOperations.ensureIndex(any(IndexDefinition.class))).thenReturn(Mono.just("created"));
+        when(outboxIndexOperations.getIndexInfo()).thenReturn(Flux.just(index("_id_"), index("lockedUntil_id_index")));
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        indexManager = new CustomerIndexManager(mongoTemplate, new MetricsRecorder(meterRegistry));
+    }
+
+    @Test
+    void ensureIndexes_shouldCreateDeclaredIndexes() {
+        when(indexOperations.ensureIndex(any(IndexDefinition.class))).thenReturn(Mono.just("created"));
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(index("_id_"), index(UNIQUE_INDEX),
+                index("id_document_documentId_name_index"), index("email_id_index"), index("type_profile_id_index"),
+                index("nameKeys_index"), index("emailKey_index"), index("phoneKey_index")));
+
+        StepVerifier.create(indexManager.ensureIndexes())
+                .expectNext(List.of())
+                .verifyComplete();
+
+        verify(indexOperations, times(7)).ensureIndex(any(IndexDefinition.class));
+        assertEquals(0, meterRegistry.get(MISSING_INDEXES_GAUGE).gauge().value());
+    }
+
+    @Test
+    void ensureIndexes_shouldReportIndexesThatCouldNotBeCreated() {
+        when(indexOperations.ensureIndex(any(IndexDefinition.class))).thenReturn(Mono.just("created"));
+        when(indexOperations.ensureIndex(argThat(definition -> definition != null
+                && UNIQUE_INDEX.equals(definition.getIndexOptions().getString("name")))))
+                .thenReturn(Mono.error(new IllegalStateException("E11000 duplicate key")));
+        when(indexOperations.getIndexInfo()).thenReturn(Flux.just(index("_id_"),
+                index("id_document_documentId_name_index"), index("email_id_index"), index("type_profile_id_index"),
+                index("nameKeys_index"), index("emailKey_index"), index("phoneKey_index")));
+
+        StepVerifier.create(indexManager.ensureIndexes())
+                .expectNext(List.of(UNIQUE_INDEX))
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get(MISSING_INDEXES_GAUGE).gauge().value());
+    }
+
+    private static IndexInfo index(String name) {
+        return new IndexInfo(List.of(), name, false, false, null);
+    }
+}
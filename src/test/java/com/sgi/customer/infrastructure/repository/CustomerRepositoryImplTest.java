@@ -1,23 +1,66 @@
 package com.sgi.customer.infrastructure.repository;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.reactivestreams.client.MongoCollection;
 import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.domain.model.CustomerFields;
+import com.sgi.customer.domain.model.CustomerFilter;
+import com.sgi.customer.domain.model.CustomerSummaryView;
+import com.sgi.customer.domain.model.OutboxMessage;
+import com.sgi.customer.infrastructure.config.StatsProperties;
+import com.sgi.customer.infrastructure.dto.CustomerBatchItemResult;
 import com.sgi.customer.infrastructure.dto.CustomerResponse;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.exception.CustomException;
 import com.sgi.customer.infrastructure.helper.FactoryTest;
 import com.sgi.customer.infrastructure.mapper.CustomerMapper;
+import com.sgi.customer.infrastructure.metrics.MetricsRecorder;
+import com.sgi.customer.infrastructure.repository.impl.CustomerOutbox;
 import com.sgi.customer.infrastructure.repository.impl.CustomerRepositoryImpl;
+import com.sgi.customer.infrastructure.repository.impl.CustomerStatsCounters;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
@@ -36,6 +79,24 @@ public class CustomerRepositoryImplTest {
     @Mock
     private CustomerRepositoryJpa repositoryJpa;
 
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter mongoConverter;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Spy
+    private MetricsRecorder metrics = new MetricsRecorder(new SimpleMeterRegistry());
+
+    @Spy
+    private CustomerOutbox outbox = new CustomerOutbox(null, Optional.empty());
+
+    @Spy
+    private CustomerStatsCounters counters = new CustomerStatsCounters(null, Optional.empty(), new StatsProperties());
+
     @Test
     public void testSave() {
         Customer customer = FactoryTest.toFactoryEntityCustomer();
@@ -49,6 +110,210 @@ public class CustomerRepositoryImplTest {
         verify(repositoryJpa, times(1)).save(customer);
     }
 
+    @Test
+    public void testSaveSetsSearchKeys() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        customer.setName("José Pérez");
+        customer.setPhoneNumber("+51 987-654-321");
+        when(repositoryJpa.save(customer)).thenReturn(Mono.just(customer));
+
+        StepVerifier.create(customerRepository.save(customer))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertEquals(List.of("jose", "perez"), customer.getNameKeys());
+        assertEquals("51987654321", customer.getPhoneKey());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSaveRecordsCreatedEvent() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(repositoryJpa.save(customer)).thenReturn(Mono.just(customer));
+        ArgumentCaptor<Function<Customer, List<OutboxMessage>>> messages = ArgumentCaptor.forClass(Function.class);
+
+        StepVerifier.create(customerRepository.save(customer))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(outbox).write(any(), messages.capture());
+        List<OutboxMessage> recorded = messages.getValue().apply(customer);
+        assertEquals(1, recorded.size());
+        assertEquals(OutboxMessage.CREATED, recorded.get(0).getType());
+        assertEquals(customer.getId(), recorded.get(0).getCustomerId());
+    }
+
+    @Test
+    public void testSaveDuplicateDocument() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(repositoryJpa.save(customer)).thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+        StepVerifier.create(customerRepository.save(customer))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-003"))
+                .verify();
+    }
+
+    @Test
+    public void testInsertAll() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        mockCustomerCollection();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(Mono.just(mock(BulkWriteResult.class)));
+
+        StepVerifier.create(customerRepository.insertAll(List.of(customer)))
+                .assertNext(result -> {
+                    assertEquals(0, result.getIndex());
+                    assertEquals(customer.getId(), result.getId());
+                    assertEquals(CustomerBatchItemResult.StatusEnum.CREATED, result.getStatus());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void testInsertAllReportsDuplicates() {
+        Customer created = FactoryTest.toFactoryEntityCustomer();
+        Customer duplicated = FactoryTest.toFactoryEntityCustomer();
+        MongoBulkWriteException exception = mock(MongoBulkWriteException.class);
+        when(exception.getWriteErrors())
+                .thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+        mockCustomerCollection();
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenReturn(Mono.error(exception));
+
+        StepVerifier.create(customerRepository.insertAll(List.of(created, duplicated)))
+                .assertNext(result -> assertEquals(CustomerBatchItemResult.StatusEnum.CREATED, result.getStatus()))
+                .assertNext(result -> {
+                    assertEquals(1, result.getIndex());
+                    assertNull(result.getId());
+                    assertEquals(CustomerBatchItemResult.StatusEnum.DUPLICATE, result.getStatus());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInsertAllRecordsCreatedEventsInOneTransaction() {
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        CustomerRepositoryImpl repository = new CustomerRepositoryImpl(repositoryJpa, mongoTemplate, metrics,
+                new CustomerOutbox(mongoTemplate, Optional.of(transactionalOperator)), counters);
+        Customer stored = FactoryTest.toFactoryEntityCustomer();
+        stored.setDocumentId("11111111");
+        Customer created = FactoryTest.toFactoryEntityCustomer();
+        created.setDocumentId("22222222");
+        Customer concurrent = FactoryTest.toFactoryEntityCustomer();
+        concurrent.setDocumentId("33333333");
+        MongoBulkWriteException exception = mock(MongoBulkWriteException.class);
+        when(exception.getWriteErrors())
+                .thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)));
+        mockCustomerCollection();
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class)))
+                .thenReturn(Flux.just(Customer.builder().documentId(stored.getDocumentId()).build()));
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(Mono.error(exception), Mono.just(mock(BulkWriteResult.class)));
+        when(mongoTemplate.insertAll(anyList())).thenReturn(Flux.empty());
+        ArgumentCaptor<Collection<OutboxMessage>> messages = ArgumentCaptor.forClass(Collection.class);
+
+        StepVerifier.create(repository.insertAll(List.of(stored, created, concurrent)).collectList())
+                .assertNext(results -> assertEquals(List.of(CustomerBatchItemResult.StatusEnum.DUPLICATE,
+                                CustomerBatchItemResult.StatusEnum.CREATED, CustomerBatchItemResult.StatusEnum.DUPLICATE),
+                        results.stream().map(CustomerBatchItemResult::getStatus).toList()))
+                .verifyComplete();
+
+        verify(collection, times(2)).bulkWrite(anyList(), any(BulkWriteOptions.class));
+        verify(mongoTemplate).insertAll(messages.capture());
+        List<OutboxMessage> recorded = List.copyOf(messages.getValue());
+        assertEquals(1, recorded.size());
+        assertEquals(created.getId(), recorded.get(0).getCustomerId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInsertAllCountsCustomersInItsTransaction() {
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation
+                .<Mono<?>>getArgument(0)
+                .doOnSubscribe(subscription -> inTransaction.set(true))
+                .doFinally(signal -> inTransaction.set(false)));
+        CustomerStatsCounters transactionalCounters = mock(CustomerStatsCounters.class);
+        when(transactionalCounters.add(anyList(), eq(1))).thenAnswer(invocation -> inTransaction.get()
+                ? Mono.empty()
+                : Mono.error(new IllegalStateException("counted outside the transaction")));
+        CustomerRepositoryImpl repository = new CustomerRepositoryImpl(repositoryJpa, mongoTemplate, metrics,
+                new CustomerOutbox(mongoTemplate, Optional.of(transactionalOperator)), transactionalCounters);
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        mockCustomerCollection();
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.empty());
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenReturn(Mono.just(mock(BulkWriteResult.class)));
+        when(mongoTemplate.insertAll(anyList())).thenReturn(Flux.empty());
+
+        StepVerifier.create(repository.insertAll(List.of(customer)))
+                .assertNext(result -> assertEquals(CustomerBatchItemResult.StatusEnum.CREATED, result.getStatus()))
+                .verifyComplete();
+
+        verify(transactionalCounters).add(List.of(customer), 1);
+    }
+
+    @Test
+    public void testReplace() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        customer.setEmail(null);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Customer.class))).thenReturn(Mono.just(customer));
+
+        StepVerifier.create(customerRepository.replace(customer))
+                .expectNext(customer)
+                .verifyComplete();
+
+        verify(mongoTemplate).findAndModify(any(Query.class), argThat(update -> update.modifies("name")
+                && update.getUpdateObject().get("$unset", Document.class).containsKey("email")
+                && update.modifies("version")), any(FindAndModifyOptions.class), eq(Customer.class));
+        verify(repositoryJpa, never()).findById(customer.getId());
+    }
+
+    @Test
+    public void testUpdateSetsOnlyProvidedFields() {
+        Customer changes = Customer.builder().id("customer-1").email("new@mail.com").build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Customer.class))).thenReturn(Mono.just(changes));
+
+        StepVerifier.create(customerRepository.update(changes, 4L))
+                .expectNext(changes)
+                .verifyComplete();
+
+        verify(mongoTemplate).findAndModify(argThat(query -> Long.valueOf(4L).equals(query.getQueryObject().get("version"))),
+                argThat(update -> update.modifies("email") && !update.modifies("name")
+                        && update.modifies("emailKey") && !update.modifies("nameKeys")
+                        && update.getUpdateObject().get("$unset") == null),
+                any(FindAndModifyOptions.class), eq(Customer.class));
+    }
+
+    @Test
+    public void testUpdateReportsVersionConflict() {
+        Customer changes = Customer.builder().id("customer-1").email("new@mail.com").build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Customer.class))).thenReturn(Mono.empty());
+        when(repositoryJpa.existsById("customer-1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(customerRepository.update(changes, 4L))
+                .expectErrorMatches(ex -> ex instanceof CustomException
+                        && ((CustomException) ex).getCode().equals("CUSTOMER-007"))
+                .verify();
+    }
+
+    @Test
+    public void testUpdateMissingCustomer() {
+        Customer changes = Customer.builder().id("customer-1").email("new@mail.com").build();
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Customer.class))).thenReturn(Mono.empty());
+        when(repositoryJpa.existsById("customer-1")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(customerRepository.update(changes, 4L))
+                .verifyComplete();
+    }
+
     @Test
     public void testFindById() {
         String customerId = UUID.randomUUID().toString();
@@ -63,6 +328,19 @@ public class CustomerRepositoryImplTest {
         verify(repositoryJpa, times(1)).findById(customerId);
     }
 
+    @Test
+    public void testFindAllById() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        List<String> ids = List.of(customer.getId());
+        when(repositoryJpa.findAllById(ids)).thenReturn(Flux.just(customer));
+
+        StepVerifier.create(customerRepository.findAllById(ids))
+                .expectNext(customer)
+                .verifyComplete();
+
+        verify(repositoryJpa, times(1)).findAllById(ids);
+    }
+
     @Test
     public void testFindAll() {
         Customer customer1 = FactoryTest.toFactoryEntityCustomer();
@@ -78,14 +356,219 @@ public class CustomerRepositoryImplTest {
     }
 
     @Test
-    public void testDelete() {
+    public void testFindAllPage() {
         Customer customer = FactoryTest.toFactoryEntityCustomer();
-        customer.setId(UUID.randomUUID().toString());
-        when(repositoryJpa.delete(customer)).thenReturn(Mono.empty());
-        Mono<Void> result = customerRepository.delete(customer);
-        StepVerifier.create(result)
+        String after = UUID.randomUUID().toString();
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.just(customer));
+        StepVerifier.create(customerRepository.findAll(CustomerFilter.NONE, after, 10, CustomerFields.ALL))
+                .expectNext(CustomerMapper.INSTANCE.toCustomerResponse(customer))
+                .verifyComplete();
+
+        verify(mongoTemplate).find(argThat((Query query) -> query.getLimit() == 10
+                && new Document("$gt", after).equals(query.getQueryObject().get("id"))), eq(Customer.class));
+    }
+
+    @Test
+    public void testFindAllFirstPage() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.just(customer));
+        StepVerifier.create(customerRepository.findAll(CustomerFilter.NONE, null, 10, CustomerFields.ALL))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(mongoTemplate).find(argThat((Query query) -> query.getLimit() == 10
+                && query.getQueryObject().isEmpty()), eq(Customer.class));
+    }
+
+    @Test
+    public void testFindAllByEmail() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        customer.setEmail("test@mail.com");
+        CustomerFilter filter = new CustomerFilter(null, customer.getEmail(), null, null);
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.just(customer));
+
+        StepVerifier.create(customerRepository.findAll(filter, null, 10, CustomerFields.ALL))
+                .expectNext(CustomerMapper.INSTANCE.toCustomerResponse(customer))
                 .verifyComplete();
-        verify(repositoryJpa, times(1)).delete(customer);
+
+        verify(mongoTemplate).find(argThat((Query query) -> query.getLimit() == 10
+                && customer.getEmail().equals(query.getQueryObject().get("email"))
+                && !query.getQueryObject().containsKey("id")
+                && query.getFieldsObject().isEmpty()), eq(Customer.class));
+    }
+
+    @Test
+    public void testFindAllByTypeAndProfile() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        String after = UUID.randomUUID().toString();
+        CustomerFilter filter = new CustomerFilter(null, null, customer.getType(), customer.getProfile());
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.just(customer));
+
+        StepVerifier.create(customerRepository.findAll(filter, after, 10, CustomerFields.ALL))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(mongoTemplate).find(argThat((Query query) -> customer.getType().equals(query.getQueryObject().get("type"))
+                && customer.getProfile().equals(query.getQueryObject().get("profile"))
+                && new Document("$gt", after).equals(query.getQueryObject().get("id"))), eq(Customer.class));
+    }
+
+    @Test
+    public void testFindAllByDocumentIdAppliesCursorInQuery() {
+        CustomerFilter filter = new CustomerFilter("12345678", null, null, null);
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(customerRepository.findAll(filter, "0001", 10, CustomerFields.ALL))
+                .verifyComplete();
+
+        verify(mongoTemplate).find(argThat((Query query) -> "12345678".equals(query.getQueryObject().get("documentId"))
+                && new Document("$gt", "0001").equals(query.getQueryObject().get("id"))), eq(Customer.class));
+    }
+
+    @Test
+    public void testSearch() {
+        Customer customer = FactoryTest.toFactoryEntityCustomer();
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("customer"), eq(Customer.class)))
+                .thenReturn(Flux.just(customer));
+
+        StepVerifier.create(customerRepository.search(List.of("jo", "98"), 20, 10, CustomerFields.ALL))
+                .expectNext(CustomerMapper.INSTANCE.toCustomerResponse(customer))
+                .verifyComplete();
+
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            Document match = pipeline.get(0).get("$match", Document.class);
+            return pipeline.size() == 5
+                    && match.getList("$and", Document.class).size() == 2
+                    && pipeline.get(1).containsKey("$addFields")
+                    && pipeline.get(2).get("$sort", Document.class).getInteger("score") == -1
+                    && pipeline.get(3).getLong("$skip") == 20L
+                    && pipeline.get(4).getLong("$limit") == 10L;
+        }), eq("customer"), eq(Customer.class));
+    }
+
+    @Test
+    public void testSearchProjectsSelectedFields() {
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("customer"), eq(Customer.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(customerRepository.search(List.of("jo"), 0, 10, CustomerFields.of(List.of("name"))))
+                .verifyComplete();
+
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            Document projection = pipeline.get(pipeline.size() - 1).get("$project", Document.class);
+            return projection != null && projection.size() == 2
+                    && projection.containsKey("_id") && projection.containsKey("name");
+        }), eq("customer"), eq(Customer.class));
+    }
+
+    @Test
+    public void testFindByIdReadsOnlySelectedFields() {
+        Customer customer = Customer.builder().id("customer-1").name("Jane").build();
+        when(mongoTemplate.findOne(any(Query.class), eq(Customer.class))).thenReturn(Mono.just(customer));
+
+        StepVerifier.create(customerRepository.findById("customer-1", CustomerFields.of(List.of("name"))))
+                .assertNext(response -> {
+                    assertEquals("Jane", response.getName());
+                    assertNull(response.getDocumentId());
+                })
+                .verifyComplete();
+
+        verify(mongoTemplate).findOne(argThat((Query query) -> query.getFieldsObject().size() == 2
+                && query.getFieldsObject().containsKey("name")), eq(Customer.class));
+        verify(repositoryJpa, never()).findById("customer-1");
+    }
+
+    @Test
+    public void testFindAllReadsOnlySelectedFieldsOfFilteredPage() {
+        CustomerFilter filter = new CustomerFilter(null, null, "PERSONAL", "VIP");
+        when(mongoTemplate.find(any(Query.class), eq(Customer.class))).thenReturn(Flux.empty());
+
+        StepVerifier.create(customerRepository.findAll(filter, "customer-1", 10, CustomerFields.of(List.of("type"))))
+                .verifyComplete();
+
+        verify(mongoTemplate).find(argThat((Query query) -> query.getLimit() == 10
+                && "PERSONAL".equals(query.getQueryObject().get("type"))
+                && "VIP".equals(query.getQueryObject().get("profile"))
+                && query.getQueryObject().get("id", Document.class).get("$gt").equals("customer-1")
+                && query.getFieldsObject().containsKey("type")), eq(Customer.class));
+    }
+
+    @Test
+    public void testFindSummaryViewById() {
+        CustomerSummaryView view = new CustomerSummaryView("customer-1", "Jane");
+        when(repositoryJpa.findSummaryViewById("customer-1")).thenReturn(Mono.just(view));
+
+        StepVerifier.create(customerRepository.findSummaryViewById("customer-1"))
+                .expectNext(view)
+                .verifyComplete();
+
+        verify(repositoryJpa, never()).findById("customer-1");
+    }
+
+    @Test
+    public void testStatsAggregatesTypesAndProfiles() {
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq("customer"), eq(Document.class))).thenReturn(Flux.just(
+                new Document("_id", new Document("type", "PERSONAL").append("profile", "VIP")).append("count", 3),
+                new Document("_id", new Document("type", "PERSONAL")).append("count", 5),
+                new Document("_id", new Document("type", "BUSINESS").append("profile", "PYME")).append("count", 2)));
+
+        StepVerifier.create(customerRepository.stats())
+                .assertNext(stats -> {
+                    assertEquals(10L, stats.getTotal());
+                    assertEquals(Map.of("PERSONAL", 8L, "BUSINESS", 2L), stats.getByType());
+                    assertEquals(Map.of("VIP", 3L, "PYME", 2L), stats.getByProfile());
+                    assertEquals(CustomerStats.SourceEnum.AGGREGATION, stats.getSource());
+                })
+                .verifyComplete();
+
+        verify(mongoTemplate).aggregate(argThat((Aggregation aggregation) -> {
+            List<Document> pipeline = aggregation.toPipeline(Aggregation.DEFAULT_CONTEXT);
+            return pipeline.size() == 2 && pipeline.get(0).containsKey("$sort") && pipeline.get(1).containsKey("$group");
+        }), eq("customer"), eq(Document.class));
+    }
+
+    private void mockCustomerCollection() {
+        when(mongoTemplate.getConverter()).thenReturn(mongoConverter);
+        when(mongoTemplate.getCollectionName(Customer.class)).thenReturn("customer");
+        when(mongoTemplate.getCollection("customer")).thenReturn(Mono.just(collection));
+    }
+
+    @Test
+    public void testDeleteById() {
+        String customerId = UUID.randomUUID().toString();
+        when(mongoTemplate.remove(any(Query.class), eq(Customer.class))).thenReturn(Mono.just(DeleteResult.acknowledged(1)));
+
+        StepVerifier.create(customerRepository.deleteById(customerId))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(repositoryJpa, never()).findById(customerId);
+    }
+
+    @Test
+    public void testDeleteByIdMissingCustomer() {
+        when(mongoTemplate.remove(any(Query.class), eq(Customer.class))).thenReturn(Mono.just(DeleteResult.acknowledged(0)));
+
+        StepVerifier.create(customerRepository.deleteById("customer-1"))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testDeleteAllById() {
+        List<String> ids = List.of("customer-1", "customer-2", "customer-3");
+        when(mongoTemplate.remove(any(Query.class), eq(Customer.class))).thenReturn(Mono.just(DeleteResult.acknowledged(2)));
+
+        StepVerifier.create(customerRepository.deleteAllById(ids))
+                .expectNext(2L)
+                .verifyComplete();
+
+        verify(mongoTemplate, times(1)).remove(argThat((Query query) -> query.getQueryObject()
+                .get("id", Document.class).get("$in") != null), eq(Customer.class));
     }
 
 }
@@ -0,0 +1,140 @@
+package com.sgi.customer.infrastructure.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.sgi.customer.domain.model.Customer;
+import com.sgi.customer.infrastructure.config.StatsProperties;
+import com.sgi.customer.infrastructure.dto.CustomerStats;
+import com.sgi.customer.infrastructure.repository.impl.CustomerStatsCounters;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CustomerStatsCounters}.
+ * Checks the increments derived from customer writes and that the counters are built once from the aggregation.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CustomerStatsCountersTest {
+
+    private static final String COLLECTION = "customer_stats";
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private CustomerStatsCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        StatsProperties properties = new StatsProperties();
+        properties.setCounters(true);
+        counters = new CustomerStatsCounters(mongoTemplate, Optional.of(transactionalOperator), properties);
+    }
+
+    @Test
+    void add_shouldIncrementTotalTypesAndProfiles() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(COLLECTION)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        StepVerifier.create(counters.add(List.of(customer("PERSONAL", "VIP"), customer("PERSONAL", null)), 1))
+                .verifyComplete();
+
+        verify(mongoTemplate).upsert(any(Query.class), argThat(update -> increments(update).equals(
+                new Document("total", 2L).append("byType.PERSONAL", 2L).append("byProfile.VIP", 1L))), eq(COLLECTION));
+    }
+
+    @Test
+    void move_shouldOnlyChangeCountersThatDiffer() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(COLLECTION)))
+                .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+        StepVerifier.create(counters.move(customer("BUSINESS", "PYME"), customer("BUSINESS", null)))
+                .verifyComplete();
+        StepVerifier.create(counters.move(customer("BUSINESS", null), customer("BUSINESS", null)))
+                .verifyComplete();
+
+        verify(mongoTemplate).upsert(any(Query.class), argThat(update -> increments(update).equals(
+                new Document("byProfile.PYME", -1L))), eq(COLLECTION));
+    }
+
+    @Test
+    void read_shouldReturnBuiltCounters() {
+        when(mongoTemplate.findById("customer", Document.class, COLLECTION)).thenReturn(Mono.just(new Document()
+                .append("initialized", true)
+                .append("total", 7L)
+                .append("byType", new Document("PERSONAL", 7L))
+                .append("byProfile", new Document("VIP", 0L))));
+
+        StepVerifier.create(counters.read(Mono.error(new IllegalStateException("not expected"))))
+                .assertNext(stats -> {
+                    assertEquals(7L, stats.getTotal());
+                    assertEquals(Map.of("PERSONAL", 7L), stats.getByType());
+                    assertEquals(Map.of(), stats.getByProfile());
+                    assertEquals(CustomerStats.SourceEnum.COUNTERS, stats.getSource());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void read_shouldBuildCountersFromAggregation() {
+        CustomerStats aggregated = new CustomerStats().total(3L).byType(Map.of("BUSINESS", 3L)).byProfile(Map.of())
+                .source(CustomerStats.SourceEnum.AGGREGATION);
+        when(mongoTemplate.findById("customer", Document.class, COLLECTION))
+                .thenReturn(Mono.just(new Document("total", 1L)));
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mongoTemplate.save(any(Document.class), eq(COLLECTION)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(counters.read(Mono.just(aggregated)))
+                .expectNext(aggregated)
+                .verifyComplete();
+
+        verify(mongoTemplate).save(argThat((Document document) -> Boolean.TRUE.equals(document.get("initialized"))
+                && Long.valueOf(3L).equals(document.get("total"))), eq(COLLECTION));
+    }
+
+    @Test
+    void add_shouldDoNothingWhenDisabled() {
+        counters = new CustomerStatsCounters(mongoTemplate, Optional.of(transactionalOperator), new StatsProperties());
+
+        StepVerifier.create(counters.add(List.of(customer("PERSONAL", "VIP")), 1))
+                .verifyComplete();
+
+        verifyNoInteractions(mongoTemplate);
+        verify(transactionalOperator, never()).transactional(any(Mono.class));
+    }
+
+    private static Document increments(UpdateDefinition update) {
+        return update.getUpdateObject().get("$inc", Document.class);
+    }
+
+    private static Customer customer(String type, String profile) {
+        return Customer.builder().id(type + profile).type(type).profile(profile).build();
+    }
+}